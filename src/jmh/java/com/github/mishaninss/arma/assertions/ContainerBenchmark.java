@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.mishaninss.arma.assertions;
+
+import com.github.mishaninss.arma.html.containers.ArmaContainer;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Cost of checking all values of a form container.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ContainerBenchmark {
+
+  @Param({"10", "40"})
+  public int fieldsCount;
+
+  @Param({"0", "100000"})
+  public long latencyNanos;
+
+  @Param({Fakes.DEFAULT_PROBE, Fakes.BATCHED_PROBE})
+  public String probe;
+
+  private ArmaContainer container;
+  private Map<String, String> expectedValues;
+
+  @Setup
+  public void setUp() {
+    ArmaAssertionsConfig.setProbe(Fakes.probe(probe, latencyNanos));
+    expectedValues = Fakes.fields(fieldsCount);
+    container = Fakes.container(expectedValues, latencyNanos);
+  }
+
+  @Benchmark
+  public Object containsValues() {
+    return ArmaAssertions.assertThat(container).containsValues(expectedValues);
+  }
+
+  @Benchmark
+  public Object containsValuesWithTimeout() {
+    return ArmaAssertions.assertThat(container).containsValues(expectedValues, 1);
+  }
+
+  @Benchmark
+  public Object allElementsAreDisplayed() {
+    return ArmaAssertions.assertThat(container).allElementsAreDisplayed();
+  }
+
+}
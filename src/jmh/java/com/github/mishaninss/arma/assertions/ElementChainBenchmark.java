@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.mishaninss.arma.assertions;
+
+import com.github.mishaninss.arma.html.elements.ArmaElement;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Cost of a typical element assertion chain, live, from a snapshot and through soft assertions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ElementChainBenchmark {
+
+  @Param({"0", "100000"})
+  public long latencyNanos;
+
+  @Param({Fakes.DEFAULT_PROBE, Fakes.BATCHED_PROBE})
+  public String probe;
+
+  private ArmaElement element;
+
+  @Setup
+  public void setUp() {
+    ArmaAssertionsConfig.setProbe(Fakes.probe(probe, latencyNanos));
+    element = Fakes.element("login", "admin", latencyNanos);
+  }
+
+  @Benchmark
+  public Object liveChain() {
+    return ArmaAssertions.assertThat(element)
+        .isDisplayed()
+        .isEnabled()
+        .containsClass("active")
+        .attribute("href")
+        .isEqualTo("/login");
+  }
+
+  @Benchmark
+  public Object snapshotChain() {
+    return ArmaAssertions.assertThat(element)
+        .snapshot("href")
+        .isDisplayed()
+        .isEnabled()
+        .containsClass("active")
+        .attribute("href")
+        .isEqualTo("/login");
+  }
+
+  @Benchmark
+  public Object softChain() {
+    ArmaSoftAssertions softAssertions = new ArmaSoftAssertions();
+    softAssertions.assertThat(element)
+        .isDisplayed()
+        .isEnabled()
+        .containsClass("active");
+    softAssertions.assertAll();
+    return softAssertions;
+  }
+
+}
@@ -0,0 +1,284 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.mishaninss.arma.assertions;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.github.mishaninss.arma.html.containers.ArmaContainer;
+import com.github.mishaninss.arma.html.containers.IndexedContainer;
+import com.github.mishaninss.arma.html.containers.table.Column;
+import com.github.mishaninss.arma.html.containers.table.Table;
+import com.github.mishaninss.arma.html.elements.ArmaElement;
+import com.github.mishaninss.arma.html.interfaces.IInteractiveElement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.locks.LockSupport;
+import org.mockito.stubbing.Answer;
+
+/**
+ * In-memory stand-ins for page objects. Every call to a fake sleeps for the configured latency to
+ * simulate a driver round trip. {@link #probe(String, long)} pairs them with a probe which reads
+ * them one call at a time, like {@link DefaultArmaProbe}, or in bulk, like a driver specific probe
+ * executing one script per group.
+ */
+final class Fakes {
+
+  static final String DEFAULT_PROBE = "default";
+  static final String BATCHED_PROBE = "batched";
+
+  /**
+   * Page state behind the fakes, read by the batched probe without the per call latency.
+   */
+  private static final Map<Object, Object> PAGE = Collections.synchronizedMap(new WeakHashMap<>());
+
+  private Fakes() {
+    // empty
+  }
+
+  static ArmaElement element(String name, String value, long latencyNanos) {
+    ArmaElement element = mock(ArmaElement.class, RETURNS_DEEP_STUBS);
+    when(element.getLoggableName()).thenReturn(name);
+    when(element.getLocatorsPath()).thenReturn("//*[@id='" + name + "']");
+    when(element.isDisplayed(anyBoolean())).thenAnswer(delayed(true, latencyNanos));
+    when(element.isEnabled()).thenAnswer(delayed(true, latencyNanos));
+    when(element.readValue()).thenAnswer(delayed(value, latencyNanos));
+    when(element.getAttribute("class")).thenAnswer(delayed("field active", latencyNanos));
+    when(element.getAttribute("href")).thenAnswer(delayed("/" + name, latencyNanos));
+    when(element.read().text()).thenAnswer(delayed(value, latencyNanos));
+    when(element.read().fullText()).thenAnswer(delayed(value, latencyNanos));
+    when(element.read().tagName()).thenAnswer(delayed("input", latencyNanos));
+    when(element.read().cssValue(anyString())).thenAnswer(delayed("", latencyNanos));
+    PAGE.put(element, new String[]{name, value});
+    return element;
+  }
+
+  static ArmaContainer container(Map<String, String> values, long latencyNanos) {
+    ArmaContainer container = mock(ArmaContainer.class);
+    when(container.getLoggableName()).thenReturn("form");
+    when(container.getLocatorsPath()).thenReturn("//form");
+    Map<String, IInteractiveElement> elements = new LinkedHashMap<>();
+    values.forEach((elementId, value) -> {
+      ArmaElement element = element(elementId, value, latencyNanos);
+      elements.put(elementId, element);
+      when(container.getElement(elementId)).thenReturn(element);
+    });
+    when(container.getElements()).thenReturn(elements);
+    return container;
+  }
+
+  @SuppressWarnings("unchecked")
+  static IndexedContainer<?> indexedContainer(List<Map<String, String>> rows,
+      long latencyNanos) {
+    IndexedContainer<?> container = mock(IndexedContainer.class);
+    when(container.getName()).thenReturn("results");
+    when(container.count()).thenAnswer(delayed(rows.size(), latencyNanos));
+    when(container.readAll(any())).thenAnswer(delayed(rows, latencyNanos));
+    PAGE.put(container, rows);
+    return container;
+  }
+
+  @SuppressWarnings("unchecked")
+  static Table table(Map<String, List<String>> columns, long latencyNanos) {
+    Table table = mock(Table.class);
+    when(table.getLoggableName()).thenReturn("grid");
+    when(table.getLocatorsPath()).thenReturn("//table");
+    PAGE.put(table, columns);
+    int rowsCount = columns.values().iterator().next().size();
+    when(table.getRowsCount()).thenAnswer(delayed(rowsCount, latencyNanos));
+    columns.forEach((columnName, values) -> {
+      Column<IInteractiveElement> column = mock(Column.class);
+      when(column.getName()).thenReturn(columnName);
+      when(column.readValues()).thenAnswer(delayed(values, latencyNanos));
+      when(table.findColumnByName(columnName)).thenAnswer(delayed(column, latencyNanos));
+    });
+    when(table.findRow(anyString(), anyString())).thenAnswer(invocation -> {
+      List<String> values = columns.get(invocation.<String>getArgument(0));
+      for (int i = 0; i < values.size(); i++) {
+        pause(latencyNanos);
+        if (values.get(i).equals(invocation.getArgument(1))) {
+          return i + 1;
+        }
+      }
+      return -1;
+    });
+    when(table.findRowIndex(anyMap())).thenAnswer(invocation -> {
+      Map<String, String> data = invocation.getArgument(0);
+      for (int i = 0; i < rowsCount; i++) {
+        pause(latencyNanos);
+        int row = i;
+        if (data.entrySet().stream()
+            .allMatch(entry -> columns.get(entry.getKey()).get(row).equals(entry.getValue()))) {
+          return i + 1;
+        }
+      }
+      return -1;
+    });
+    return table;
+  }
+
+  /**
+   * @param type {@link #DEFAULT_PROBE} or {@link #BATCHED_PROBE}
+   * @param latencyNanos latency of one round trip of the batched probe
+   */
+  static ArmaProbe probe(String type, long latencyNanos) {
+    switch (type) {
+      case DEFAULT_PROBE:
+        return new DefaultArmaProbe();
+      case BATCHED_PROBE:
+        return new BatchedProbe(latencyNanos);
+      default:
+        throw new IllegalArgumentException("Unknown probe " + type);
+    }
+  }
+
+  static Map<String, String> fields(int count) {
+    Map<String, String> values = new LinkedHashMap<>();
+    for (int i = 0; i < count; i++) {
+      values.put("field" + i, "value" + i);
+    }
+    return values;
+  }
+
+  static List<Map<String, String>> rows(int count) {
+    List<Map<String, String>> rows = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      Map<String, String> row = new LinkedHashMap<>();
+      row.put("title", "Item " + i);
+      row.put("price", String.valueOf(i * 10));
+      rows.add(row);
+    }
+    return rows;
+  }
+
+  /**
+   * Serves every group read of the fakes with a single round trip, as a driver specific probe
+   * executing one script per group would.
+   */
+  private static final class BatchedProbe extends DefaultArmaProbe {
+
+    private final long latencyNanos;
+
+    BatchedProbe(long latencyNanos) {
+      this.latencyNanos = latencyNanos;
+    }
+
+    @Override
+    public Map<String, String> readValues(Map<String, ? extends IInteractiveElement> elements) {
+      pause(latencyNanos);
+      Map<String, String> values = new LinkedHashMap<>();
+      elements.forEach((elementId, element) -> values.put(elementId, state(element)[1]));
+      return values;
+    }
+
+    @Override
+    public List<Boolean> areDisplayed(List<? extends IInteractiveElement> elements) {
+      pause(latencyNanos);
+      return Collections.nCopies(elements.size(), Boolean.TRUE);
+    }
+
+    @Override
+    public List<Boolean> areNotDisplayed(List<? extends IInteractiveElement> elements) {
+      pause(latencyNanos);
+      return Collections.nCopies(elements.size(), Boolean.FALSE);
+    }
+
+    @Override
+    public ElementSnapshot snapshot(SnapshotRequest request) {
+      pause(latencyNanos);
+      return read(request);
+    }
+
+    @Override
+    public List<ElementSnapshot> snapshots(List<SnapshotRequest> requests) {
+      pause(latencyNanos);
+      List<ElementSnapshot> snapshots = new ArrayList<>(requests.size());
+      requests.forEach(request -> snapshots.add(read(request)));
+      return snapshots;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<String, List<String>> readColumns(Table table, Collection<String> columnNames) {
+      pause(latencyNanos);
+      Map<String, List<String>> columns = (Map<String, List<String>>) PAGE.get(table);
+      Map<String, List<String>> read = new LinkedHashMap<>();
+      columnNames.forEach(columnName -> read.put(columnName, columns.get(columnName)));
+      return read;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Map<String, String>> readAll(IndexedContainer<?> container, Set<String> keys) {
+      pause(latencyNanos);
+      List<Map<String, String>> read = new ArrayList<>();
+      ((List<Map<String, String>>) PAGE.get(container)).forEach(row -> {
+        Map<String, String> values = new LinkedHashMap<>();
+        keys.forEach(key -> values.put(key, row.get(key)));
+        read.add(values);
+      });
+      return read;
+    }
+
+    private static ElementSnapshot read(SnapshotRequest request) {
+      String[] state = state(request.getElement());
+      ElementSnapshot.Builder builder = ElementSnapshot.builder()
+          .displayed(true)
+          .enabled(true)
+          .selected(false)
+          .value(state[1])
+          .text(state[1])
+          .fullText(state[1])
+          .tagName("input");
+      request.getAttributes().forEach(attribute -> builder.attribute(attribute,
+          "class".equals(attribute) ? "field active"
+              : "href".equals(attribute) ? "/" + state[0] : null));
+      request.getCssValues().forEach(cssValue -> builder.cssValue(cssValue, ""));
+      return builder.build();
+    }
+
+    private static String[] state(IInteractiveElement element) {
+      return (String[]) PAGE.get(element);
+    }
+
+  }
+
+  private static <T> Answer<T> delayed(T result, long latencyNanos) {
+    return invocation -> {
+      pause(latencyNanos);
+      return result;
+    };
+  }
+
+  private static void pause(long latencyNanos) {
+    if (latencyNanos > 0) {
+      LockSupport.parkNanos(latencyNanos);
+    }
+  }
+
+}
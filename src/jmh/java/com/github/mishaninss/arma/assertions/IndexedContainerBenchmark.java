@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.mishaninss.arma.assertions;
+
+import com.github.mishaninss.arma.html.containers.IndexedContainer;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Cost of comparing rows of an indexed container with expected rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class IndexedContainerBenchmark {
+
+  @Param({"100", "2000"})
+  public int rowsCount;
+
+  @Param({"0", "100000"})
+  public long latencyNanos;
+
+  @Param({Fakes.DEFAULT_PROBE, Fakes.BATCHED_PROBE})
+  public String probe;
+
+  private IndexedContainer<?> container;
+  private List<Map<String, String>> expectedRows;
+
+  @Setup
+  public void setUp() {
+    ArmaAssertionsConfig.setProbe(Fakes.probe(probe, latencyNanos));
+    List<Map<String, String>> rows = Fakes.rows(rowsCount);
+    container = Fakes.indexedContainer(rows, latencyNanos);
+    expectedRows = rows.subList(rowsCount / 2, rowsCount);
+  }
+
+  @Benchmark
+  public Object containsAll() {
+    return ArmaAssertions.assertThat(container).containsAll(expectedRows);
+  }
+
+  @Benchmark
+  public Object containsIgnoreCase() {
+    return ArmaAssertions.assertThat(container).containsIgnoreCase(expectedRows.get(0));
+  }
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.mishaninss.arma.assertions;
+
+import com.github.mishaninss.arma.html.containers.table.Table;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Cost of looking up many expected rows in a table, live and from a snapshot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TableBenchmark {
+
+  private static final int EXPECTED_ROWS = 50;
+
+  @Param({"200", "2000"})
+  public int rowsCount;
+
+  @Param({"0", "10000"})
+  public long latencyNanos;
+
+  @Param({Fakes.DEFAULT_PROBE, Fakes.BATCHED_PROBE})
+  public String probe;
+
+  private Table table;
+  private List<Map<String, String>> expectedRows;
+
+  @Setup
+  public void setUp() {
+    ArmaAssertionsConfig.setProbe(Fakes.probe(probe, latencyNanos));
+    List<String> names = new ArrayList<>();
+    List<String> prices = new ArrayList<>();
+    for (int i = 0; i < rowsCount; i++) {
+      names.add("Item " + i);
+      prices.add(String.valueOf(i * 10));
+    }
+    Map<String, List<String>> columns = new LinkedHashMap<>();
+    columns.put("Name", names);
+    columns.put("Price", prices);
+    table = Fakes.table(columns, latencyNanos);
+
+    expectedRows = new ArrayList<>();
+    for (int i = rowsCount - EXPECTED_ROWS; i < rowsCount; i++) {
+      Map<String, String> row = new HashMap<>();
+      row.put("Name", names.get(i));
+      row.put("Price", prices.get(i));
+      expectedRows.add(row);
+    }
+  }
+
+  @Benchmark
+  public Object liveLookups() {
+    ArmaTableAssert tableAssert = ArmaAssertions.assertThat(table);
+    expectedRows.forEach(tableAssert::containsColumnValues);
+    return tableAssert;
+  }
+
+  @Benchmark
+  public Object snapshotLookups() {
+    ArmaTableAssert tableAssert = ArmaAssertions.assertThat(table).snapshot("Name", "Price");
+    expectedRows.forEach(tableAssert::containsColumnValues);
+    return tableAssert;
+  }
+
+}
@@ -20,16 +20,23 @@ import com.github.mishaninss.arma.data.DataObject;
 import com.github.mishaninss.arma.html.containers.ArmaContainer;
 import com.github.mishaninss.arma.html.elements.ArmaElement;
 import com.github.mishaninss.arma.html.interfaces.IInteractiveElement;
+import com.github.mishaninss.arma.html.interfaces.INamed;
 import com.github.mishaninss.arma.utils.Preconditions;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.apache.commons.lang3.StringUtils;
 import org.assertj.core.api.AbstractObjectAssert;
-import org.awaitility.Awaitility;
 
 /**
  * Abstract base class for {@link ArmaElement} specific assertions
@@ -37,6 +44,14 @@ import org.awaitility.Awaitility;
 public abstract class AbstractArmaContainerAssert<S extends AbstractArmaContainerAssert<S, A>, A extends ArmaContainer> extends
     AbstractObjectAssert<S, A> {
 
+  private boolean useCache = true;
+
+  /**
+   * Soft assertions this assertion was created by, {@code null} for a standalone assertion. Set
+   * directly on the soft proxy by {@link ArmaSoftAssertions}, since field access is not intercepted.
+   */
+  ArmaSoftAssertions enclosingSoftAssertions;
+
   /**
    * Creates a new <code>{@link AbstractArmaContainerAssert}</code> to make assertions on actual
    * ArmaElement.
@@ -47,6 +62,17 @@ public abstract class AbstractArmaContainerAssert<S extends AbstractArmaContaine
     super(actual, selfType);
   }
 
+  /**
+   * Disables the assertion cache for the following checks of this assertion chain, so they always
+   * read the live state.
+   *
+   * @return this assertion object.
+   */
+  public S withoutCache() {
+    useCache = false;
+    return myself;
+  }
+
   /**
    * Verifies that the actual ArmaElement is displayed.
    *
@@ -61,12 +87,17 @@ public abstract class AbstractArmaContainerAssert<S extends AbstractArmaContaine
     isNotNull();
 
     if (StringUtils.isNotBlank(actual.getLocator())) {
-      if (StringUtils.isBlank(descriptionText())) {
-        as(buildDescription());
+      if (LazyDescription.isBlank(info)) {
+        as(LazyDescription.of(this::buildDescription));
+      }
+      long version = AssertionCache.version(useCache);
+      if (AssertionCache.hasPassed(actual, "displayed", version)) {
+        return myself;
       }
       if (!actual.isDisplayed(shouldWait)) {
         failWithMessage("\nКонтейнер не отображается");
       }
+      AssertionCache.passed(actual, "displayed", version);
       return myself;
     } else {
       return allElementsAreDisplayed(shouldWait);
@@ -86,12 +117,10 @@ public abstract class AbstractArmaContainerAssert<S extends AbstractArmaContaine
   public S isNotDisplayed(boolean shouldWait) {
     isNotNull();
 
-    String message = StringUtils.isBlank(info.overridingErrorMessage()) ?
-        "Контейнер отображается: " + buildDescription() :
-        info.overridingErrorMessage();
-
     if (actual.isDisplayed(shouldWait)) {
-      failWithMessage(message);
+      failWithMessage(StringUtils.isBlank(info.overridingErrorMessage()) ?
+          "Контейнер отображается: " + buildDescription() :
+          info.overridingErrorMessage());
     }
 
     return myself;
@@ -103,37 +132,101 @@ public abstract class AbstractArmaContainerAssert<S extends AbstractArmaContaine
 
   public S allElementsAreDisplayed(boolean shouldWait) {
     isNotNull();
-    if (StringUtils.isBlank(descriptionText())) {
-      as(buildDescription());
+    if (LazyDescription.isBlank(info)) {
+      as(LazyDescription.of(this::buildDescription));
     }
     assertAllElementsAreDisplayed(shouldWait, actual.getElements().values().stream());
     return myself;
   }
 
+  /**
+   * Verifies that all non optional elements of the container and its nested containers are
+   * displayed. Every container with its own locator is checked before its elements, and a hidden
+   * container is reported as a single failure without probing the elements of its subtree. With
+   * waiting enabled the containers and the elements share one deadline, based on the longest own
+   * timeout of the elements.
+   */
   public S deepAllElementsAreDisplayed(boolean shouldWait) {
     isNotNull();
-    if (StringUtils.isBlank(descriptionText())) {
-      as(buildDescription());
+    if (LazyDescription.isBlank(info)) {
+      as(LazyDescription.of(this::buildDescription));
     }
-    assertAllElementsAreDisplayed(shouldWait, actual.deepGetNotOptionalElements().stream());
+    Duration timeout = shouldWait ?
+        ElementsWait.waitTimeout(ContainerStructure.deepNotOptionalElements(actual)) :
+        Duration.ZERO;
+    Deadline deadline = timeout == null ? null : Deadline.after(timeout);
+    if (StringUtils.isNotBlank(actual.getLocator()) && !actual.isDisplayed(shouldWait)) {
+      failWithMessage("\nКонтейнер не отображается, его элементы не проверялись");
+    }
+
+    ArmaSoftAssertions softAssertions = softAssertions();
+    Set<IInteractiveElement> skipped = Collections.newSetFromMap(new IdentityHashMap<>());
+    List<ArmaContainer> level = ContainerStructure.nestedContainers(actual);
+    while (!level.isEmpty()) {
+      List<ArmaContainer> located = level.stream()
+          .filter(container -> StringUtils.isNotBlank(container.getLocator()))
+          .collect(Collectors.toList());
+      List<ArmaContainer> hidden = ElementsWait.awaitContainersDisplayed(located,
+          remaining(softAssertions, deadline));
+      List<ArmaContainer> next = new ArrayList<>();
+      for (ArmaContainer container : level) {
+        if (hidden.contains(container)) {
+          skipped.addAll(ContainerStructure.deepNotOptionalElements(container));
+          if (!softAssertions.skipIfBudgetExceeded()) {
+            softAssertions.fail("\nКонтейнер " + describe(container)
+                + " не отображается, его элементы не проверялись");
+          }
+        } else {
+          next.addAll(ContainerStructure.nestedContainers(container));
+        }
+      }
+      level = next;
+    }
+
+    List<IInteractiveElement> elements = ContainerStructure.deepNotOptionalElements(actual);
+    if (!skipped.isEmpty()) {
+      elements = elements.stream().filter(element -> !skipped.contains(element))
+          .collect(Collectors.toList());
+    }
+    assertElementsAreDisplayed(softAssertions, shouldWait, remaining(softAssertions, deadline),
+        elements);
     return myself;
   }
 
+  /**
+   * @return time left until the deadline, {@code null} for the own waits of the elements
+   */
+  private static Duration remaining(ArmaSoftAssertions softAssertions, Deadline deadline) {
+    return softAssertions.limitWait(deadline == null ? null : deadline.remaining());
+  }
+
+  /**
+   * Verifies that all the given non optional elements are displayed. With waiting enabled all the
+   * elements share one deadline, the longest own timeout of the elements, so the worst case costs
+   * a single timeout. Every element which has not been displayed is reported separately.
+   */
   public void assertAllElementsAreDisplayed(boolean shouldWait,
       Stream<IInteractiveElement> elementsStream) {
-    ArmaSoftAssertions softAssertions = new ArmaSoftAssertions();
-    AtomicBoolean displayed = new AtomicBoolean(true);
-    elementsStream
-        .filter(element -> element instanceof ArmaElement && !element.isOptional())
-        .forEach(element -> {
-          if (shouldWait && displayed.get()) {
-            displayed.set(((ArmaElement) element).waitUntil().quietly().isVisible());
-          }
-          if (!shouldWait || !displayed.get()) {
-            softAssertions.assertThat((ArmaElement) element).isDisplayed(false);
-          }
-        });
-    softAssertions.assertAll();
+    List<IInteractiveElement> elements =
+        ContainerStructure.notOptional(elementsStream.collect(Collectors.toList()));
+    ArmaSoftAssertions softAssertions = softAssertions();
+    assertElementsAreDisplayed(softAssertions, shouldWait,
+        shouldWait ? softAssertions.limitWait(ElementsWait.waitTimeout(elements)) : null,
+        elements);
+  }
+
+  /**
+   * @param timeout time to wait for the elements, {@code null} for their own waits
+   */
+  private void assertElementsAreDisplayed(ArmaSoftAssertions softAssertions, boolean shouldWait,
+      Duration timeout, List<IInteractiveElement> elements) {
+    List<IInteractiveElement> notDisplayed = shouldWait ?
+        ElementsWait.awaitDisplayed(elements, timeout) :
+        ElementsWait.notDisplayed(elements);
+
+    failEach(softAssertions, notDisplayed,
+        element -> "\nЭлемент " + describe(element) + " не отображается");
+    assertAll(softAssertions);
   }
 
   public void assertOnlyElementsAreDisplayed(Collection<String> elementIds) {
@@ -142,54 +235,191 @@ public abstract class AbstractArmaContainerAssert<S extends AbstractArmaContaine
 
   public void assertOnlyElementsAreDisplayed(boolean shouldWait,
       Collection<String> elementIds) {
-    ArmaSoftAssertions assertions = new ArmaSoftAssertions();
     Collection<String> finalElementIds = elementIds.stream().map(DataObject::sanitizeElementId)
         .collect(Collectors.toSet());
+    List<IInteractiveElement> expectedDisplayed = new ArrayList<>();
+    List<IInteractiveElement> expectedHidden = new ArrayList<>();
     actual.getElements().forEach((elementId, element) -> {
       if (finalElementIds.contains(elementId)) {
-        assertions.assertThat(element).isDisplayed(shouldWait);
+        expectedDisplayed.add(element);
       } else if (!element.isOptional()) {
-        assertions.assertThat(element).isNotDisplayed(shouldWait);
+        expectedHidden.add(element);
       }
     });
-    assertions.assertAll();
+
+    ArmaSoftAssertions assertions = softAssertions();
+    List<IInteractiveElement> notDisplayed = shouldWait ?
+        ElementsWait.awaitDisplayed(expectedDisplayed,
+            assertions.limitWait(ElementsWait.waitTimeout(expectedDisplayed))) :
+        ElementsWait.notDisplayed(expectedDisplayed);
+    failEach(assertions, notDisplayed,
+        element -> "\nЭлемент " + describe(element) + " не отображается");
+
+    if (assertions.isBudgetExceeded()) {
+      assertions.skip(expectedHidden.size());
+    } else {
+      List<IInteractiveElement> displayed = shouldWait ?
+          ElementsWait.awaitNotDisplayed(expectedHidden,
+              assertions.limitWait(ElementsWait.waitTimeout(expectedHidden))) :
+          ElementsWait.displayed(expectedHidden);
+      failEach(assertions, displayed, element ->
+          "\nExpecting that element " + describe(element) + " is not displayed but is.");
+    }
+    assertAll(assertions);
   }
 
   public S containsValues(Map<String, String> expectedValues) {
     isNotNull();
     Preconditions.checkNotNull(expectedValues, "expectedValues");
 
-    if (StringUtils.isBlank(descriptionText())) {
-      as(buildDescription());
+    if (LazyDescription.isBlank(info)) {
+      as(LazyDescription.of(this::buildDescription));
     }
 
-    ArmaSoftAssertions softAssertions = new ArmaSoftAssertions();
-    expectedValues.forEach((elementId, expectedValue) ->
-        softAssertions.assertThat(actual.getElement(elementId))
-            .value()
-            .isEqualTo(expectedValue)
-    );
-    softAssertions.assertAll();
+    long version = AssertionCache.version(useCache);
+    String check = version < 0 ? null : "values=" + expectedValues;
+    if (AssertionCache.hasPassed(actual, check, version)) {
+      return myself;
+    }
+    ArmaSoftAssertions softAssertions = softAssertions();
+    int reported = softAssertions.reportedCount();
+    assertValues(softAssertions, resolveElements(expectedValues.keySet()), expectedValues);
+    // the enclosing soft assertions do not throw, so a failed or skipped check is told by the
+    // reported count
+    if (softAssertions.reportedCount() == reported) {
+      AssertionCache.passed(actual, check, version);
+    }
     return myself;
   }
 
+  /**
+   * Verifies that the container elements eventually contain the expected values. Only the elements
+   * which still mismatch are re-read until the timeout expires, then all the remaining mismatches
+   * are reported at once.
+   */
   public S containsValues(Map<String, String> expectedValues, int timeout) {
     isNotNull();
     Preconditions.checkNotNull(expectedValues, "expectedValues");
 
-    if (StringUtils.isBlank(descriptionText())) {
-      as(buildDescription());
-    }
-    Awaitility.await().atMost(timeout, TimeUnit.SECONDS)
-        .untilAsserted(() -> {
-          ArmaSoftAssertions softAssertions = new ArmaSoftAssertions();
-          expectedValues.forEach((elementId, expectedValue) ->
-              softAssertions.assertThat(actual.getElement(elementId))
-                  .value()
-                  .isEqualTo(expectedValue)
-          );
-          softAssertions.assertAll();
-        });
+    if (LazyDescription.isBlank(info)) {
+      as(LazyDescription.of(this::buildDescription));
+    }
+    ArmaSoftAssertions softAssertions = softAssertions();
+    Map<String, IInteractiveElement> elements = resolveElements(expectedValues.keySet());
+    Map<String, String> mismatches = ElementsWait.awaitValues(elements, expectedValues,
+        softAssertions.limitWait(Duration.ofSeconds(timeout)));
+    reportMismatches(softAssertions, elements, mismatches, expectedValues);
+    return myself;
+  }
+
+  private Map<String, IInteractiveElement> resolveElements(Collection<String> elementIds) {
+    Map<String, IInteractiveElement> elements = new LinkedHashMap<>();
+    elementIds.forEach(elementId -> elements.put(elementId, actual.getElement(elementId)));
+    return elements;
+  }
+
+  /**
+   * Reads values of all the given elements with a single probe call and compares them in memory.
+   */
+  private void assertValues(ArmaSoftAssertions softAssertions,
+      Map<String, IInteractiveElement> elements, Map<String, String> expectedValues) {
+    reportMismatches(softAssertions, elements,
+        ArmaAssertionsConfig.getProbe().readValues(elements), expectedValues);
+  }
+
+  /**
+   * Every field that does not match is reported as a separate failure, bounded and truncated by the
+   * soft assertions. Once the failure budget is exceeded, the remaining mismatches are only counted.
+   */
+  private void reportMismatches(ArmaSoftAssertions softAssertions,
+      Map<String, IInteractiveElement> elements, Map<String, String> actualValues,
+      Map<String, String> expectedValues) {
+    actualValues.forEach((elementId, actualValue) -> {
+      String expectedValue = expectedValues.get(elementId);
+      if (!Objects.equals(actualValue, expectedValue)
+          && !softAssertions.skipIfBudgetExceeded()) {
+        softAssertions.fail(String.format("\nValue of element %s is [%s] but expected [%s]",
+            describe(elements.get(elementId)), actualValue, expectedValue));
+      }
+    });
+    assertAll(softAssertions);
+  }
+
+  /**
+   * Failures of the element by element checks are reported to the enclosing soft assertions, if
+   * any, so they are counted against its failure budget. A standalone assertion collects them in
+   * its own soft assertions and throws them at once.
+   */
+  private ArmaSoftAssertions softAssertions() {
+    return enclosingSoftAssertions != null ? enclosingSoftAssertions : new ArmaSoftAssertions();
+  }
+
+  private void assertAll(ArmaSoftAssertions softAssertions) {
+    if (softAssertions != enclosingSoftAssertions) {
+      softAssertions.assertAll();
+    }
+  }
+
+  /**
+   * Reports every given element as a separate failure until the failure budget is exceeded, then
+   * only counts the remaining ones.
+   */
+  private static void failEach(ArmaSoftAssertions softAssertions,
+      List<IInteractiveElement> elements, Function<IInteractiveElement, String> message) {
+    for (int i = 0; i < elements.size(); i++) {
+      if (softAssertions.isBudgetExceeded()) {
+        softAssertions.skip(elements.size() - i);
+        return;
+      }
+      softAssertions.fail(message.apply(elements.get(i)));
+    }
+  }
+
+  private static String describe(ArmaContainer container) {
+    return container.getLoggableName() + " => " + container.getLocatorsPath();
+  }
+
+  private static String describe(IInteractiveElement element) {
+    if (element instanceof INamed) {
+      return ((INamed) element).getLoggableName() + " => " + element.getLocatorsPath();
+    } else {
+      return element.getLocatorsPath();
+    }
+  }
+
+  /**
+   * Verifies that values of all non optional elements of the container match the fingerprint
+   * recorded with {@link Fingerprints#record(ArmaContainer)}. Values are read in full only if the
+   * probe computes the fingerprint in the page and it does not match.
+   */
+  public S matchesFingerprint(String expectedFingerprint) {
+    isNotNull();
+    return matchesFingerprint(Fingerprints.elementIds(actual), expectedFingerprint);
+  }
+
+  /**
+   * Verifies that values of the given elements match the fingerprint recorded with
+   * {@link Fingerprints#record(ArmaContainer, Collection)}. Values are read in full only if the
+   * probe computes the fingerprint in the page and it does not match.
+   */
+  public S matchesFingerprint(Collection<String> elementIds, String expectedFingerprint) {
+    isNotNull();
+    Preconditions.checkNotNull(elementIds, "elementIds");
+    Preconditions.checkNotBlank(expectedFingerprint, "expectedFingerprint");
+
+    if (LazyDescription.isBlank(info)) {
+      as(LazyDescription.of(this::buildDescription));
+    }
+
+    ArmaProbe probe = ArmaAssertionsConfig.getProbe();
+    Map<String, IInteractiveElement> elements = Fingerprints.elements(actual, elementIds);
+    Fingerprint actualFingerprint = probe.fingerprint(elements);
+    if (!expectedFingerprint.equals(actualFingerprint.getValue())) {
+      Object values = actualFingerprint.getRows().<Object>map(rows -> rows.get(0))
+          .orElseGet(() -> probe.readValues(elements));
+      failWithMessage("\nОтпечаток значений не совпадает: ожидался [%s], но был [%s]."
+          + "\nТекущие значения: %s", expectedFingerprint, actualFingerprint, values);
+    }
     return myself;
   }
 
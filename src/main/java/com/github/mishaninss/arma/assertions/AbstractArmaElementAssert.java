@@ -16,9 +16,16 @@
 
 package com.github.mishaninss.arma.assertions;
 
+import com.github.mishaninss.arma.assertions.ElementSnapshot.Field;
 import com.github.mishaninss.arma.html.elements.ArmaElement;
 import com.github.mishaninss.arma.html.elements.ElementAttribute;
 import com.google.common.base.Preconditions;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
 import org.apache.commons.lang3.StringUtils;
 import org.assertj.core.api.AbstractObjectAssert;
 import org.assertj.core.api.CharSequenceAssert;
@@ -29,6 +36,9 @@ import org.assertj.core.api.CharSequenceAssert;
 public abstract class AbstractArmaElementAssert<S extends AbstractArmaElementAssert<S, A>, A extends ArmaElement> extends
     AbstractObjectAssert<S, A> {
 
+  private ElementSnapshot snapshot;
+  private boolean placeholderRead;
+
   /**
    * Creates a new <code>{@link AbstractArmaElementAssert}</code> to make assertions on actual
    * ArmaElement.
@@ -39,6 +49,45 @@ public abstract class AbstractArmaElementAssert<S extends AbstractArmaElementAss
     super(actual, selfType);
   }
 
+  /**
+   * Reads the whole state of the actual ArmaElement with a single probe call: all the fields of
+   * {@link Field}, the class attribute and the given attributes. The following checks of this
+   * assertion chain are served from that snapshot. An attribute or css value which was not
+   * declared is read with one more probe call when a check needs it. Checks with waiting still go
+   * to the element. Inside {@link ArmaAssertions#batch(Runnable)} the batch serves the reads and
+   * this call does nothing.
+   *
+   * @param attributes names of attributes which will be checked later in the chain
+   * @return this assertion object.
+   */
+  public S snapshot(String... attributes) {
+    return snapshot(Arrays.asList(attributes), Collections.emptyList());
+  }
+
+  /**
+   * Reads the whole state of the actual ArmaElement with a single probe call, see
+   * {@link #snapshot(String...)}.
+   *
+   * @param attributes names of attributes which will be checked later in the chain
+   * @param cssValues names of css values which will be checked later in the chain
+   * @return this assertion object.
+   */
+  public S snapshot(Collection<String> attributes, Collection<String> cssValues) {
+    isNotNull();
+    Preconditions.checkNotNull(attributes, "attributes cannot be null");
+    Preconditions.checkNotNull(cssValues, "cssValues cannot be null");
+    if (BatchScope.isActive()) {
+      // the reads of the chain are served by the batch
+      return myself;
+    }
+
+    Set<String> allAttributes = new LinkedHashSet<>(attributes);
+    allAttributes.add("class");
+    snapshot = ArmaAssertionsConfig.getProbe().snapshot(new SnapshotRequest(actual,
+        EnumSet.allOf(Field.class), allAttributes, cssValues));
+    return myself;
+  }
+
   /**
    * Verifies that the actual ArmaElement is displayed.
    *
@@ -53,12 +102,12 @@ public abstract class AbstractArmaElementAssert<S extends AbstractArmaElementAss
     // check that actual ArmaElement we want to make assertions on is not null.
     isNotNull();
 
-    if (StringUtils.isNoneBlank(descriptionText(), info.overridingErrorMessage())) {
-      as(buildDescription());
+    if (StringUtils.isNotBlank(info.overridingErrorMessage()) && !LazyDescription.isBlank(info)) {
+      as(LazyDescription.of(this::buildDescription));
     }
 
     // check that property call/field access is true
-    if (!actual.isDisplayed(shouldWait)) {
+    if (!readDisplayed(shouldWait)) {
       failWithMessage("\nЭлемент " + buildDescription() + " не отображается");
     }
 
@@ -70,12 +119,12 @@ public abstract class AbstractArmaElementAssert<S extends AbstractArmaElementAss
     // check that actual ArmaElement we want to make assertions on is not null.
     isNotNull();
 
-    if (StringUtils.isBlank(descriptionText())) {
-      as(buildDescription());
+    if (LazyDescription.isBlank(info)) {
+      as(LazyDescription.of(this::buildDescription));
     }
 
     // check that property call/field access is true
-    if (!StringUtils.contains(actual.getAttribute("class"), expectedClass)) {
+    if (!StringUtils.contains(readAttribute("class"), expectedClass)) {
       failWithMessage("\nExpecting that element contains [%s] class but it does not.",
           expectedClass);
     }
@@ -88,12 +137,12 @@ public abstract class AbstractArmaElementAssert<S extends AbstractArmaElementAss
     // check that actual ArmaElement we want to make assertions on is not null.
     isNotNull();
 
-    if (StringUtils.isBlank(descriptionText())) {
-      as(buildDescription());
+    if (LazyDescription.isBlank(info)) {
+      as(LazyDescription.of(this::buildDescription));
     }
 
     // check that property call/field access is true
-    if (StringUtils.contains(actual.getAttribute("class"), expectedClass)) {
+    if (StringUtils.contains(readAttribute("class"), expectedClass)) {
       failWithMessage("\nExpecting that element does not contain [%s] class but it does.",
           expectedClass);
     }
@@ -103,36 +152,43 @@ public abstract class AbstractArmaElementAssert<S extends AbstractArmaElementAss
   }
 
   public CharSequenceAssert value() {
-    CharSequenceAssert charSequenceAssert = new CharSequenceAssert(actual.readValue());
-    charSequenceAssert.as("Значение элемента " + buildDescription());
+    CharSequenceAssert charSequenceAssert = BatchScope.assertThat(readValue());
+    charSequenceAssert.as(LazyDescription.of(() -> "Значение элемента " + buildDescription()));
     return charSequenceAssert;
   }
 
   public CharSequenceAssert valueIgnoringNewLines() {
-    String actualValue = actual.readValue();
+    String actualValue = readValue();
     if (StringUtils.isNotBlank(actualValue)) {
       actualValue = actualValue.replace("\n", " ");
     }
-    CharSequenceAssert charSequenceAssert = new CharSequenceAssert(actualValue);
-    charSequenceAssert.as("Значение элемента " + buildDescription() + " без учёта переноса строки");
+    CharSequenceAssert charSequenceAssert = BatchScope.assertThat(actualValue);
+    charSequenceAssert.as(LazyDescription.of(
+        () -> "Значение элемента " + buildDescription() + " без учёта переноса строки"));
     return charSequenceAssert;
   }
 
   public CharSequenceAssert text() {
-    CharSequenceAssert charSequenceAssert = new CharSequenceAssert(actual.read().text());
-    charSequenceAssert.as(buildDescription() + " text");
+    ElementSnapshot state = state(Field.TEXT, null, null);
+    CharSequenceAssert charSequenceAssert = BatchScope.assertThat(
+        state != null ? state.getText() : actual.read().text());
+    charSequenceAssert.as(LazyDescription.of(() -> buildDescription() + " text"));
     return charSequenceAssert;
   }
 
   public CharSequenceAssert fullText() {
-    CharSequenceAssert charSequenceAssert = new CharSequenceAssert(actual.read().fullText());
-    charSequenceAssert.as(buildDescription() + " full text");
+    ElementSnapshot state = state(Field.FULL_TEXT, null, null);
+    CharSequenceAssert charSequenceAssert = BatchScope.assertThat(
+        state != null ? state.getFullText() : actual.read().fullText());
+    charSequenceAssert.as(LazyDescription.of(() -> buildDescription() + " full text"));
     return charSequenceAssert;
   }
 
   public CharSequenceAssert tagName() {
-    CharSequenceAssert charSequenceAssert = new CharSequenceAssert(actual.read().tagName());
-    charSequenceAssert.as(buildDescription() + " tag name");
+    ElementSnapshot state = state(Field.TAG_NAME, null, null);
+    CharSequenceAssert charSequenceAssert = BatchScope.assertThat(
+        state != null ? state.getTagName() : actual.read().tagName());
+    charSequenceAssert.as(LazyDescription.of(() -> buildDescription() + " tag name"));
     return charSequenceAssert;
   }
 
@@ -143,17 +199,21 @@ public abstract class AbstractArmaElementAssert<S extends AbstractArmaElementAss
   public CharSequenceAssert attribute(String attribute) {
     Preconditions.checkArgument(StringUtils.isNotBlank(attribute),
         "name of an attribute cannot be null or blank string");
-    CharSequenceAssert charSequenceAssert = new CharSequenceAssert(actual.getAttribute(attribute));
-    charSequenceAssert.as(buildDescription() + " [%s] attribute", attribute);
+    CharSequenceAssert charSequenceAssert = BatchScope.assertThat(readAttribute(attribute));
+    charSequenceAssert.as(LazyDescription.of(
+        () -> buildDescription() + " [" + attribute + "] attribute"));
     return charSequenceAssert;
   }
 
   public CharSequenceAssert cssValue(String cssValue) {
     Preconditions.checkArgument(StringUtils.isNotBlank(cssValue),
         "name of an css value cannot be null or blank string");
-    CharSequenceAssert charSequenceAssert = new CharSequenceAssert(
-        actual.read().cssValue(cssValue));
-    charSequenceAssert.as(buildDescription() + " [%s] css value", cssValue);
+    ElementSnapshot state = state(null, null, cssValue);
+    CharSequenceAssert charSequenceAssert = BatchScope.assertThat(
+        state != null ? state.getCssValue(cssValue)
+            : actual.read().cssValue(cssValue));
+    charSequenceAssert.as(LazyDescription.of(
+        () -> buildDescription() + " [" + cssValue + "] css value"));
     return charSequenceAssert;
   }
 
@@ -171,12 +231,12 @@ public abstract class AbstractArmaElementAssert<S extends AbstractArmaElementAss
     // check that actual ArmaElement we want to make assertions on is not null.
     isNotNull();
 
-    if (StringUtils.isNoneBlank(descriptionText(), info.overridingErrorMessage())) {
-      as(buildDescription());
+    if (StringUtils.isNotBlank(info.overridingErrorMessage()) && !LazyDescription.isBlank(info)) {
+      as(LazyDescription.of(this::buildDescription));
     }
 
     // check that property call/field access is false
-    if (actual.isDisplayed(shouldWait)) {
+    if (!readNotDisplayed(shouldWait)) {
       failWithMessage("\nExpecting that element is not displayed but is.");
     }
 
@@ -188,6 +248,68 @@ public abstract class AbstractArmaElementAssert<S extends AbstractArmaElementAss
     return actual.getLoggableName() + " => " + actual.getLocatorsPath();
   }
 
+  /**
+   * While {@link ArmaAssertions#batch(Runnable)} records the reads of its block, the checks of this
+   * chain read placeholders, so their failures are skipped. Any other failure is reported.
+   */
+  @Override
+  protected void failWithMessage(String errorMessage, Object... arguments) {
+    if (!placeholderRead) {
+      super.failWithMessage(errorMessage, arguments);
+    }
+  }
+
+  /**
+   * @return the snapshot of this chain or of the enclosing batch to read from, or null if the
+   *     element should be read live
+   */
+  private ElementSnapshot state(Field field, String attribute, String cssValue) {
+    ElementSnapshot batched = BatchScope.snapshotOf(actual, field, attribute, cssValue);
+    placeholderRead |= batched != null && BatchScope.isRecording();
+    if (batched != null || snapshot == null) {
+      return batched;
+    }
+    SnapshotRequest request = SnapshotRequest.of(actual, field, attribute, cssValue);
+    if (!snapshot.covers(request)) {
+      snapshot = ElementSnapshot.merge(snapshot,
+          ArmaAssertionsConfig.getProbe().snapshot(request));
+    }
+    return snapshot;
+  }
+
+  private boolean readDisplayed(boolean shouldWait) {
+    if (shouldWait) {
+      return BatchScope.isRecording() || ArmaAssertionsConfig.getProbe().awaitDisplayed(actual);
+    }
+    ElementSnapshot state = state(Field.DISPLAYED, null, null);
+    return state != null ? state.isDisplayed() : actual.isDisplayed(false);
+  }
+
+  private boolean readNotDisplayed(boolean shouldWait) {
+    if (shouldWait) {
+      return BatchScope.isRecording() || ArmaAssertionsConfig.getProbe().awaitNotDisplayed(actual);
+    }
+    ElementSnapshot state = state(Field.DISPLAYED, null, null);
+    return state != null ? !state.isDisplayed()
+        : ElementsWait.displayed(Collections.singletonList(actual)).isEmpty();
+  }
+
+  private boolean readEnabled() {
+    ElementSnapshot state = state(Field.ENABLED, null, null);
+    return state != null ? state.isEnabled() : actual.isEnabled();
+  }
+
+  private String readValue() {
+    ElementSnapshot state = state(Field.VALUE, null, null);
+    return state != null ? state.getValue() : actual.readValue();
+  }
+
+  private String readAttribute(String attribute) {
+    ElementSnapshot state = state(null, attribute, null);
+    return state != null ? state.getAttribute(attribute)
+        : actual.getAttribute(attribute);
+  }
+
   /**
    * Verifies that the actual ArmaElement is enabled.
    *
@@ -198,12 +320,12 @@ public abstract class AbstractArmaElementAssert<S extends AbstractArmaElementAss
     // check that actual ArmaElement we want to make assertions on is not null.
     isNotNull();
 
-    if (StringUtils.isBlank(descriptionText())) {
-      as(buildDescription());
+    if (LazyDescription.isBlank(info)) {
+      as(LazyDescription.of(this::buildDescription));
     }
 
     // check that property call/field access is true
-    if (!actual.isEnabled()) {
+    if (!readEnabled()) {
       failWithMessage("\nExpecting that actual ArmaElement is enabled but is not.");
     }
 
@@ -221,12 +343,12 @@ public abstract class AbstractArmaElementAssert<S extends AbstractArmaElementAss
     // check that actual ArmaElement we want to make assertions on is not null.
     isNotNull();
 
-    if (StringUtils.isBlank(descriptionText())) {
-      as(buildDescription());
+    if (LazyDescription.isBlank(info)) {
+      as(LazyDescription.of(this::buildDescription));
     }
 
     // check that property call/field access is false
-    if (actual.isEnabled()) {
+    if (readEnabled()) {
       failWithMessage("\nExpecting that actual ArmaElement is not enabled but is.");
     }
 
@@ -1,15 +1,18 @@
 package com.github.mishaninss.arma.assertions;
 
-import java.util.ArrayList;
-import org.apache.commons.collections4.CollectionUtils;
-import org.apache.commons.lang3.StringUtils;
 import org.assertj.core.api.AbstractObjectAssert;
 import com.github.mishaninss.arma.html.containers.table.Column;
 import com.github.mishaninss.arma.html.elements.ArmaElement;
 import com.github.mishaninss.arma.html.interfaces.IInteractiveElement;
+import com.github.mishaninss.arma.utils.Preconditions;
 
 import java.util.List;
-import org.assertj.core.api.Assertions;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.assertj.core.api.BigDecimalAssert;
 import org.assertj.core.api.ListAssert;
 
 /**
@@ -17,6 +20,12 @@ import org.assertj.core.api.ListAssert;
  */
 public abstract class AbstractColumnAssert<S extends AbstractColumnAssert<S, A>, A extends Column<IInteractiveElement>> extends AbstractObjectAssert<S, A> {
 
+    private static final int MAX_REPORTED_ROWS = 10;
+
+    private TableSnapshot snapshot;
+    private String columnName;
+    private Locale numberLocale;
+
     /**
      * Creates a new <code>{@link AbstractColumnAssert}</code> to make assertions on actual ArmaElement.
      *
@@ -26,15 +35,38 @@ public abstract class AbstractColumnAssert<S extends AbstractColumnAssert<S, A>,
         super(actual, selfType);
     }
 
+    /**
+     * Makes the checks of this assertion chain read cell values from a table snapshot instead of
+     * the live column.
+     */
+    S readFrom(TableSnapshot snapshot, String columnName) {
+        this.snapshot = snapshot;
+        this.columnName = columnName;
+        return myself;
+    }
+
+    /**
+     * Sets the locale whose number format is used to parse the values by the following numeric
+     * checks of this assertion chain, instead of {@link ArmaAssertionsConfig#getNumberLocale()}.
+     *
+     * @return this assertion object.
+     */
+    public S withNumberLocale(Locale locale) {
+        Preconditions.checkNotNull(locale, "locale");
+        this.numberLocale = locale;
+        return myself;
+    }
+
     public S containsValue(String value) {
         isNotNull();
 
-        if (StringUtils.isBlank(descriptionText())) {
-            as(buildDescription());
+        if (LazyDescription.isBlank(info)) {
+            as(LazyDescription.of(this::buildDescription));
         }
 
-        List<Integer> indexes = actual.findRows(value);
-        if (CollectionUtils.isEmpty(indexes)) {
+        boolean found = snapshot != null ? snapshot.findRow(columnName, value) > 0
+                : ArmaAssertionsConfig.getProbe().containsValue(actual, value);
+        if (!found) {
             failWithMessage(String.format("Колонка не содержит записей со значением [%s]", value));
         }
 
@@ -44,23 +76,187 @@ public abstract class AbstractColumnAssert<S extends AbstractColumnAssert<S, A>,
   public ListAssert<String> values() {
     isNotNull();
 
-    if (StringUtils.isBlank(descriptionText())) {
-      as(buildDescription());
+    if (LazyDescription.isBlank(info)) {
+      as(LazyDescription.of(this::buildDescription));
+    }
+    if (snapshot != null) {
+      return new ListAssert<>(snapshot.getValues(columnName));
+    }
+    try (Stream<String> values = ArmaAssertionsConfig.getProbe().streamValues(actual)) {
+      return new ListAssert<>(values.collect(Collectors.toList()));
     }
-    return new ListAssert<>(actual.readValues());
   }
 
+    /**
+     * Verifies that values of the column match the fingerprint recorded with
+     * {@link Fingerprints#record(Column)}. Values are read in full only if the probe computes the
+     * fingerprint in the page and it does not match.
+     */
+    public S matchesFingerprint(String expectedFingerprint) {
+        isNotNull();
+        Preconditions.checkNotBlank(expectedFingerprint, "expectedFingerprint");
+
+        if (LazyDescription.isBlank(info)) {
+            as(LazyDescription.of(this::buildDescription));
+        }
+
+        Fingerprint actualFingerprint = read(
+                values -> Fingerprint.ofColumn(actual.getName(), values.collect(Collectors.toList())),
+                probe -> probe.fingerprint(actual));
+        if (!expectedFingerprint.equals(actualFingerprint.getValue())) {
+            List<String> values = actualFingerprint.getRows()
+                    .map(rows -> rows.stream().map(row -> row.get(actual.getName()))
+                            .collect(Collectors.toList()))
+                    .orElseGet(() -> read(cells -> cells.collect(Collectors.toList()), probe -> {
+                        try (Stream<String> stream = probe.streamValues(actual)) {
+                            return stream.collect(Collectors.toList());
+                        }
+                    }));
+            failWithMessage("\nОтпечаток колонки не совпадает: ожидался [%s], но был [%s]."
+                    + "\nТекущие значения: %s", expectedFingerprint, actualFingerprint, values);
+        }
+        return myself;
+    }
+
+    /**
+     * Verifies that values of the column follow the given order, e.g.
+     * {@code isSorted(ColumnOrder.descending().numeric())}. The order is checked by the probe,
+     * which returns only the first few offending rows.
+     */
+    public S isSorted(ColumnOrder order) {
+        isNotNull();
+        Preconditions.checkNotNull(order, "order");
+
+        if (LazyDescription.isBlank(info)) {
+            as(LazyDescription.of(this::buildDescription));
+        }
+
+        Map<Integer, String> offenders = read(
+                values -> ColumnAggregates.unsorted(values, order, MAX_REPORTED_ROWS),
+                probe -> probe.findUnsorted(actual, order, MAX_REPORTED_ROWS));
+        if (!offenders.isEmpty()) {
+            failWithMessage("\nКолонка не отсортирована (%s). Нарушают порядок:%s",
+                    order, formatRows(offenders));
+        }
+        return myself;
+    }
+
+    public S hasUniqueValues() {
+        isNotNull();
+
+        if (LazyDescription.isBlank(info)) {
+            as(LazyDescription.of(this::buildDescription));
+        }
+
+        Map<Integer, String> offenders = read(
+                values -> ColumnAggregates.duplicates(values, MAX_REPORTED_ROWS),
+                probe -> probe.findDuplicates(actual, MAX_REPORTED_ROWS));
+        if (!offenders.isEmpty()) {
+            failWithMessage("\nКолонка содержит повторяющиеся значения:%s", formatRows(offenders));
+        }
+        return myself;
+    }
+
+    /**
+     * Verifies that every value of the column fully matches the given regular expression.
+     */
+    public S allMatch(String regex) {
+        isNotNull();
+        Preconditions.checkNotNull(regex, "regex");
+
+        if (LazyDescription.isBlank(info)) {
+            as(LazyDescription.of(this::buildDescription));
+        }
+
+        Map<Integer, String> offenders = read(
+                values -> ColumnAggregates.notMatching(values, regex, MAX_REPORTED_ROWS),
+                probe -> probe.findNotMatching(actual, regex, MAX_REPORTED_ROWS));
+        if (!offenders.isEmpty()) {
+            failWithMessage("\nЗначения колонки не соответствуют шаблону [%s]:%s",
+                    regex, formatRows(offenders));
+        }
+        return myself;
+    }
+
+    /**
+     * Returns assertions on the sum of numeric values of the column. Values are parsed as
+     * decimal numbers in the number format of the configured locale, see
+     * {@link #withNumberLocale(Locale)}. Fails if the column contains values which are not numbers.
+     */
+    public BigDecimalAssert sum() {
+        BigDecimalAssert sumAssert = new BigDecimalAssert(statistics().getSum());
+        sumAssert.as(LazyDescription.of(() -> "Сумма значений колонки " + buildDescription()));
+        return sumAssert;
+    }
+
+    /**
+     * Returns assertions on the least numeric value of the column, null for an empty column.
+     *
+     * @see #sum()
+     */
+    public BigDecimalAssert min() {
+        BigDecimalAssert minAssert = new BigDecimalAssert(statistics().getMin());
+        minAssert.as(LazyDescription.of(
+                () -> "Минимальное значение колонки " + buildDescription()));
+        return minAssert;
+    }
+
+    /**
+     * Returns assertions on the greatest numeric value of the column, null for an empty column.
+     *
+     * @see #sum()
+     */
+    public BigDecimalAssert max() {
+        BigDecimalAssert maxAssert = new BigDecimalAssert(statistics().getMax());
+        maxAssert.as(LazyDescription.of(
+                () -> "Максимальное значение колонки " + buildDescription()));
+        return maxAssert;
+    }
+
     public ArmaElementAssert row(int index) {
         isNotNull();
 
-        if (StringUtils.isBlank(descriptionText())) {
-            as(buildDescription());
+        if (LazyDescription.isBlank(info)) {
+            as(LazyDescription.of(this::buildDescription));
         }
 
         return ArmaAssertions.assertThat((ArmaElement) actual.getCell(index));
 
     }
 
+    private ColumnStatistics statistics() {
+        isNotNull();
+
+        if (LazyDescription.isBlank(info)) {
+            as(LazyDescription.of(this::buildDescription));
+        }
+
+        Locale locale = numberLocale != null ? numberLocale : ArmaAssertionsConfig.getNumberLocale();
+        ColumnStatistics statistics = read(
+                values -> ColumnAggregates.statistics(values, locale, MAX_REPORTED_ROWS),
+                probe -> probe.statistics(actual, locale, MAX_REPORTED_ROWS));
+        if (!statistics.getNonNumeric().isEmpty()) {
+            failWithMessage("\nКолонка содержит нечисловые значения:%s",
+                    formatRows(statistics.getNonNumeric()));
+        }
+        return statistics;
+    }
+
+    /**
+     * Reads the column from the table snapshot of this chain if there is one, or through the probe.
+     */
+    private <T> T read(Function<Stream<String>, T> fromSnapshot, Function<ArmaProbe, T> fromProbe) {
+        return snapshot != null ? fromSnapshot.apply(snapshot.getValues(columnName).stream())
+                : fromProbe.apply(ArmaAssertionsConfig.getProbe());
+    }
+
+    private static String formatRows(Map<Integer, String> rows) {
+        StringBuilder message = new StringBuilder();
+        rows.forEach((row, value) ->
+                message.append(String.format("%n  строка %d: [%s]", row, value)));
+        return message.toString();
+    }
+
     private String buildDescription() {
         return actual.getName();
     }
@@ -21,6 +21,7 @@ import com.github.mishaninss.arma.html.elements.ElementAttribute;
 import com.github.mishaninss.arma.html.interfaces.IInteractiveElement;
 import com.github.mishaninss.arma.html.interfaces.INamed;
 import com.google.common.base.Preconditions;
+import java.util.Collections;
 import org.apache.commons.lang3.StringUtils;
 import org.assertj.core.api.AbstractObjectAssert;
 import org.assertj.core.api.CharSequenceAssert;
@@ -55,12 +56,14 @@ public abstract class AbstractIInteractiveElementAssert<S extends AbstractIInter
     // check that actual ArmaElement we want to make assertions on is not null.
     isNotNull();
 
-    if (StringUtils.isBlank(descriptionText())) {
-      as(buildDescription());
+    if (LazyDescription.isBlank(info)) {
+      as(LazyDescription.of(this::buildDescription));
     }
 
     // check that property call/field access is true
-    if (!actual.isDisplayed(shouldWait)) {
+    boolean displayed = shouldWait ? ArmaAssertionsConfig.getProbe().awaitDisplayed(actual) :
+        actual.isDisplayed(false);
+    if (!displayed) {
       failWithMessage("\nElement is not displayed");
     }
 
@@ -72,8 +75,8 @@ public abstract class AbstractIInteractiveElementAssert<S extends AbstractIInter
     // check that actual ArmaElement we want to make assertions on is not null.
     isNotNull();
 
-    if (StringUtils.isBlank(descriptionText())) {
-      as(buildDescription());
+    if (LazyDescription.isBlank(info)) {
+      as(LazyDescription.of(this::buildDescription));
     }
 
     // check that property call/field access is true
@@ -90,8 +93,8 @@ public abstract class AbstractIInteractiveElementAssert<S extends AbstractIInter
     // check that actual ArmaElement we want to make assertions on is not null.
     isNotNull();
 
-    if (StringUtils.isBlank(descriptionText())) {
-      as(buildDescription());
+    if (LazyDescription.isBlank(info)) {
+      as(LazyDescription.of(this::buildDescription));
     }
 
     // check that property call/field access is true
@@ -106,7 +109,7 @@ public abstract class AbstractIInteractiveElementAssert<S extends AbstractIInter
 
   public CharSequenceAssert value() {
     CharSequenceAssert charSequenceAssert = new CharSequenceAssert(actual.readValue());
-    charSequenceAssert.as("Value of element " + buildDescription());
+    charSequenceAssert.as(LazyDescription.of(() -> "Value of element " + buildDescription()));
     return charSequenceAssert;
   }
 
@@ -116,7 +119,8 @@ public abstract class AbstractIInteractiveElementAssert<S extends AbstractIInter
       actualValue = actualValue.replace("\n", " ");
     }
     CharSequenceAssert charSequenceAssert = new CharSequenceAssert(actualValue);
-    charSequenceAssert.as("Value of element " + buildDescription() + " ignoring new lines");
+    charSequenceAssert.as(LazyDescription.of(
+        () -> "Value of element " + buildDescription() + " ignoring new lines"));
     return charSequenceAssert;
   }
 
@@ -128,7 +132,8 @@ public abstract class AbstractIInteractiveElementAssert<S extends AbstractIInter
     Preconditions.checkArgument(StringUtils.isNotBlank(attribute),
         "name of an attribute cannot be null or blank string");
     CharSequenceAssert charSequenceAssert = new CharSequenceAssert(actual.getAttribute(attribute));
-    charSequenceAssert.as(buildDescription() + " [%s] attribute", attribute);
+    charSequenceAssert.as(LazyDescription.of(
+        () -> buildDescription() + " [" + attribute + "] attribute"));
     return charSequenceAssert;
   }
 
@@ -146,12 +151,14 @@ public abstract class AbstractIInteractiveElementAssert<S extends AbstractIInter
     // check that actual ArmaElement we want to make assertions on is not null.
     isNotNull();
 
-    if (StringUtils.isBlank(descriptionText())) {
-      as(buildDescription());
+    if (LazyDescription.isBlank(info)) {
+      as(LazyDescription.of(this::buildDescription));
     }
 
     // check that property call/field access is false
-    if (actual.isDisplayed(shouldWait)) {
+    boolean notDisplayed = shouldWait ? ArmaAssertionsConfig.getProbe().awaitNotDisplayed(actual) :
+        ElementsWait.displayed(Collections.singletonList(actual)).isEmpty();
+    if (!notDisplayed) {
       failWithMessage("\nExpecting that element is not displayed but is.");
     }
 
@@ -177,8 +184,8 @@ public abstract class AbstractIInteractiveElementAssert<S extends AbstractIInter
     // check that actual ArmaElement we want to make assertions on is not null.
     isNotNull();
 
-    if (StringUtils.isBlank(descriptionText())) {
-      as(buildDescription());
+    if (LazyDescription.isBlank(info)) {
+      as(LazyDescription.of(this::buildDescription));
     }
 
     // check that property call/field access is true
@@ -200,8 +207,8 @@ public abstract class AbstractIInteractiveElementAssert<S extends AbstractIInter
     // check that actual ArmaElement we want to make assertions on is not null.
     isNotNull();
 
-    if (StringUtils.isBlank(descriptionText())) {
-      as(buildDescription());
+    if (LazyDescription.isBlank(info)) {
+      as(LazyDescription.of(this::buildDescription));
     }
 
     // check that property call/field access is false
@@ -4,13 +4,16 @@ import com.github.mishaninss.arma.data.DataObject;
 import com.github.mishaninss.arma.html.containers.ArmaContainer;
 import com.github.mishaninss.arma.html.containers.IndexedContainer;
 import com.github.mishaninss.arma.html.elements.ArmaElement;
+import com.github.mishaninss.arma.utils.Preconditions;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Predicate;
 import org.apache.commons.lang3.StringUtils;
 import org.assertj.core.api.AbstractObjectAssert;
-import org.assertj.core.api.Assertions;
 import org.assertj.core.api.IntegerAssert;
 
 /**
@@ -32,11 +35,9 @@ public abstract class AbstractIndexedContainerAssert<S extends AbstractIndexedCo
   public S contains(Predicate<ArmaContainer> predicate) {
     isNotNull();
 
-    String message = "Не найден контейнер " + buildDescription() + ", удовлетворяющий условию";
-
     Optional<ArmaContainer> element = actual.findContainer(predicate);
     if (element.isEmpty()) {
-      failWithMessage(message);
+      failWithMessage("Не найден контейнер " + buildDescription() + ", удовлетворяющий условию");
     }
 
     return myself;
@@ -45,12 +46,10 @@ public abstract class AbstractIndexedContainerAssert<S extends AbstractIndexedCo
   public S contains(Map<String, String> expected) {
     isNotNull();
 
-    String message =
-        "Не найден контейнер " + buildDescription() + ", содержащий значения " + expected;
-
     Optional<ArmaContainer> element = actual.findContainer(expected);
     if (element.isEmpty()) {
-      failWithMessage(message);
+      failWithMessage(
+          "Не найден контейнер " + buildDescription() + ", содержащий значения " + expected);
     }
 
     return myself;
@@ -59,59 +58,123 @@ public abstract class AbstractIndexedContainerAssert<S extends AbstractIndexedCo
   public S containsAll(List<Map<String, String>> expected) {
     isNotNull();
 
-    if (StringUtils.isNoneBlank(descriptionText(), info.overridingErrorMessage())) {
-      as("Values of %s", buildDescription());
+    if (StringUtils.isNotBlank(info.overridingErrorMessage()) && !LazyDescription.isBlank(info)) {
+      as(LazyDescription.of(() -> "Values of " + buildDescription()));
     }
 
-    List<Map<String, String>> act = actual.readAll(expected.get(0).keySet());
-    Assertions.assertThat(act).containsAll(DataObject.sanitizeKeys(expected));
+    List<Map<String, String>> act = ArmaAssertionsConfig.getProbe()
+        .readAll(actual, expected.get(0).keySet());
+    RowsMatcher matcher = RowsMatcher.match(act, DataObject.sanitizeKeys(expected), false);
+    if (!matcher.getMissing().isEmpty()) {
+      failWithMessage("%nExpecting:%n  <%s>%nto contain:%n  <%s>%nbut could not find:%n  <%s>%n",
+          act, expected, matcher.getMissing());
+    }
 
     return myself;
   }
 
-  public S doesNotContainAny(List<Map<String, String>> expected) {
+  /**
+   * Verifies that the actual containers contain exactly the expected rows in any order, counting
+   * duplicates.
+   */
+  public S containsExactlyInAnyOrder(List<Map<String, String>> expected) {
     isNotNull();
 
-    if (StringUtils.isNoneBlank(descriptionText(), info.overridingErrorMessage())) {
-      as("Values of %s", buildDescription());
+    if (expected.isEmpty()) {
+      return hasNoContainers();
     }
 
-    List<Map<String, String>> act = actual.readAll(expected.get(0).keySet());
-    Assertions.assertThat(act).doesNotContainAnyElementsOf(DataObject.sanitizeKeys(expected));
+    List<Map<String, String>> act = ArmaAssertionsConfig.getProbe()
+        .readAll(actual, expected.get(0).keySet());
+    RowsMatcher matcher = RowsMatcher.match(act, DataObject.sanitizeKeys(expected), true);
+    if (!matcher.getMissing().isEmpty() || !matcher.getUnexpected().isEmpty()) {
+      failWithMessage("%nExpecting:%n  <%s>%nto contain exactly in any order:%n  <%s>%n"
+              + "elements not found:%n  <%s>%nand elements not expected:%n  <%s>%n",
+          act, expected, matcher.getMissing(), matcher.getUnexpected());
+    }
 
     return myself;
   }
 
-  public S containsIgnoreCase(Map<String, String> expected) {
+  /**
+   * Verifies that the actual containers contain exactly the expected rows in the same order.
+   */
+  public S containsExactly(List<Map<String, String>> expected) {
     isNotNull();
 
-    String message =
-        "Не найден контейнер " + buildDescription() + ", содержащий значения " + expected;
+    if (expected.isEmpty()) {
+      return hasNoContainers();
+    }
 
-    Optional<ArmaContainer> element = actual.findContainer(container -> {
-      for (Map.Entry<String, String> entry : expected.entrySet()) {
-        if (!StringUtils.equalsIgnoreCase(((ArmaContainer) container).readValue(entry.getKey()),
-            entry.getValue())) {
-          return false;
-        }
+    List<Map<String, String>> act = ArmaAssertionsConfig.getProbe()
+        .readAll(actual, expected.get(0).keySet());
+    List<Map<String, String>> sanitized = DataObject.sanitizeKeys(expected);
+    if (!act.equals(sanitized)) {
+      RowsMatcher matcher = RowsMatcher.match(act, sanitized, true);
+      if (matcher.getMissing().isEmpty() && matcher.getUnexpected().isEmpty()) {
+        int index = RowsMatcher.firstDifference(act, sanitized);
+        failWithMessage("%nExpecting:%n  <%s>%nto contain exactly (and in same order):%n  <%s>%n"
+                + "but the order differs at index %d:%n  expected <%s>%n  but was <%s>%n",
+            act, expected, index, sanitized.get(index), act.get(index));
+      } else {
+        failWithMessage("%nExpecting:%n  <%s>%nto contain exactly (and in same order):%n  <%s>%n"
+                + "elements not found:%n  <%s>%nand elements not expected:%n  <%s>%n",
+            act, expected, matcher.getMissing(), matcher.getUnexpected());
       }
-      return true;
-    });
-    if (element.isEmpty()) {
-      failWithMessage(message);
     }
 
     return myself;
   }
 
-  public S doesNotContain(Predicate<ArmaContainer> predicate) {
+  public S doesNotContainAny(List<Map<String, String>> expected) {
     isNotNull();
 
-    String message = "Найден контейнер " + buildDescription() + ", удовлетворяющий условию";
+    if (StringUtils.isNotBlank(info.overridingErrorMessage()) && !LazyDescription.isBlank(info)) {
+      as(LazyDescription.of(() -> "Values of " + buildDescription()));
+    }
+
+    List<Map<String, String>> act = ArmaAssertionsConfig.getProbe()
+        .readAll(actual, expected.get(0).keySet());
+    List<Map<String, String>> found = RowsMatcher.found(act, DataObject.sanitizeKeys(expected));
+    if (!found.isEmpty()) {
+      failWithMessage("%nExpecting%n  <%s>%nnot to contain%n  <%s>%nbut found%n  <%s>%n",
+          act, expected, found);
+    }
+
+    return myself;
+  }
+
+  private S hasNoContainers() {
+    int count = actual.count();
+    if (count != 0) {
+      failWithMessage("%nExpecting no containers in %s but found %s", buildDescription(), count);
+    }
+    return myself;
+  }
+
+  /**
+   * Verifies that some container has the expected values ignoring case. Values are compared with
+   * {@link StringUtils#equalsIgnoreCase}, like a {@code readValue} check of every container, but
+   * the expected fields of all containers are read with one probe call instead of stopping at the
+   * first matching container.
+   */
+  public S containsIgnoreCase(Map<String, String> expected) {
+    isNotNull();
+
+    if (!containsRowIgnoreCase(expected)) {
+      failWithMessage(
+          "Не найден контейнер " + buildDescription() + ", содержащий значения " + expected);
+    }
+
+    return myself;
+  }
+
+  public S doesNotContain(Predicate<ArmaContainer> predicate) {
+    isNotNull();
 
     Optional<ArmaContainer> element = actual.findContainer(predicate);
     if (element.isPresent()) {
-      failWithMessage(message);
+      failWithMessage("Найден контейнер " + buildDescription() + ", удовлетворяющий условию");
     }
 
     return myself;
@@ -120,25 +183,57 @@ public abstract class AbstractIndexedContainerAssert<S extends AbstractIndexedCo
   public S doesNotContain(Map<String, String> data) {
     isNotNull();
 
-    String message = "Найден контейнер " + buildDescription() + ", удовлетворяющий условию";
-
     Optional<ArmaContainer> element = actual.findContainer(data);
     if (element.isPresent()) {
-      failWithMessage(message);
+      failWithMessage("Найден контейнер " + buildDescription() + ", удовлетворяющий условию");
     }
 
     return myself;
   }
 
+  /**
+   * Verifies that the given fields of all containers match the fingerprint recorded with
+   * {@link Fingerprints#record(IndexedContainer, Collection)}. Values are read in full only if the
+   * probe computes the fingerprint in the page and it does not match.
+   */
+  public S matchesFingerprint(Collection<String> fields, String expectedFingerprint) {
+    isNotNull();
+    Preconditions.checkNotNull(fields, "fields");
+    Preconditions.checkNotBlank(expectedFingerprint, "expectedFingerprint");
+
+    ArmaProbe probe = ArmaAssertionsConfig.getProbe();
+    Set<String> keys = Fingerprints.sanitize(fields);
+    Fingerprint actualFingerprint = probe.fingerprint(actual, keys);
+    if (!expectedFingerprint.equals(actualFingerprint.getValue())) {
+      failWithMessage("\nОтпечаток значений " + buildDescription()
+              + " не совпадает: ожидался [%s], но был [%s].\nТекущие значения: %s",
+          expectedFingerprint, actualFingerprint,
+          actualFingerprint.getRows().orElseGet(() -> probe.readAll(actual, keys)));
+    }
+    return myself;
+  }
+
   public IntegerAssert count() {
     isNotNull();
 
-    if (StringUtils.isBlank(descriptionText())) {
-      as("Количество контейнеров " + buildDescription());
+    if (LazyDescription.isBlank(info)) {
+      as(LazyDescription.of(() -> "Количество контейнеров " + buildDescription()));
     }
     return new IntegerAssert(actual.count());
   }
 
+  /**
+   * Reads only the expected fields of all containers with one probe call and looks for a matching
+   * container in memory.
+   */
+  private boolean containsRowIgnoreCase(Map<String, String> expected) {
+    Map<String, String> sanitized = new LinkedHashMap<>();
+    expected.forEach((key, value) -> sanitized.put(DataObject.sanitizeElementId(key), value));
+    List<Map<String, String>> act = ArmaAssertionsConfig.getProbe()
+        .readAll(actual, expected.keySet());
+    return RowsMatcher.containsRowIgnoreCase(act, sanitized);
+  }
+
   private String buildDescription() {
     return actual.getName();
   }
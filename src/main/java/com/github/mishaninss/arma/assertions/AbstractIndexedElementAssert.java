@@ -5,6 +5,7 @@ import com.github.mishaninss.arma.html.elements.ArmaElement;
 import com.github.mishaninss.arma.html.interfaces.IInteractiveElement;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.apache.commons.lang3.StringUtils;
 import org.assertj.core.api.AbstractObjectAssert;
 import org.assertj.core.api.IntegerAssert;
@@ -29,8 +30,8 @@ public abstract class AbstractIndexedElementAssert<S extends AbstractIndexedElem
   public S containsValue(String value) {
     isNotNull();
 
-    if (StringUtils.isBlank(descriptionText())) {
-      as(buildDescription());
+    if (LazyDescription.isBlank(info)) {
+      as(LazyDescription.of(this::buildDescription));
     }
 
     Optional<? extends IInteractiveElement> element = actual.findElement(value);
@@ -44,8 +45,8 @@ public abstract class AbstractIndexedElementAssert<S extends AbstractIndexedElem
   public IntegerAssert count() {
     isNotNull();
 
-    if (StringUtils.isBlank(descriptionText())) {
-      as("Количество элементов " + buildDescription());
+    if (LazyDescription.isBlank(info)) {
+      as(LazyDescription.of(() -> "Количество элементов " + buildDescription()));
     }
     return new IntegerAssert(actual.count());
   }
@@ -53,20 +54,24 @@ public abstract class AbstractIndexedElementAssert<S extends AbstractIndexedElem
   public ListAssert<String> values() {
     isNotNull();
 
-    if (StringUtils.isBlank(descriptionText())) {
-      as("Значения элементов " + buildDescription());
+    if (LazyDescription.isBlank(info)) {
+      as(LazyDescription.of(() -> "Значения элементов " + buildDescription()));
+    }
+    try (Stream<String> values = ArmaAssertionsConfig.getProbe().streamValues(actual)) {
+      return new ListAssert<>(values.collect(Collectors.toList()));
     }
-    return new ListAssert<>(actual.readValues());
   }
 
   public ListAssert<String> valuesNormalizedSpace() {
     isNotNull();
 
-    if (StringUtils.isBlank(descriptionText())) {
-      as("Значения элементов " + buildDescription());
+    if (LazyDescription.isBlank(info)) {
+      as(LazyDescription.of(() -> "Значения элементов " + buildDescription()));
+    }
+    try (Stream<String> values = ArmaAssertionsConfig.getProbe().streamValues(actual)) {
+      return new ListAssert<>(values.map(StringUtils::normalizeSpace)
+          .collect(Collectors.toList()));
     }
-    return new ListAssert<>(actual.readValues().stream().map(StringUtils::normalizeSpace).collect(
-        Collectors.toList()));
   }
 
   private String buildDescription() {
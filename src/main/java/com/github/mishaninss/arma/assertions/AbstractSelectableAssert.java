@@ -16,7 +16,6 @@
 
 package com.github.mishaninss.arma.assertions;
 
-import org.apache.commons.lang3.StringUtils;
 import org.assertj.core.api.AbstractObjectAssert;
 import com.github.mishaninss.arma.html.elements.ArmaElement;
 import com.github.mishaninss.arma.html.elements.interfaces.ISelectable;
@@ -27,6 +26,8 @@ import com.github.mishaninss.arma.html.interfaces.INamed;
  */
 public abstract class AbstractSelectableAssert<S extends AbstractSelectableAssert<S, A>, A extends ISelectable> extends AbstractObjectAssert<S, A> {
 
+    private boolean placeholderRead;
+
     /**
      * Creates a new <code>{@link AbstractSelectableAssert}</code> to make assertions on actual ArmaElement.
      *
@@ -50,12 +51,12 @@ public abstract class AbstractSelectableAssert<S extends AbstractSelectableAsser
         // check that actual ArmaElement we want to make assertions on is not null.
         isNotNull();
 
-        if (StringUtils.isBlank(descriptionText())) {
-            as(buildDescription());
+        if (LazyDescription.isBlank(info)) {
+            as(LazyDescription.of(this::buildDescription));
         }
 
         // check that property call/field access is true
-        if (!actual.isDisplayed(shouldWait)) {
+        if (!readDisplayed(shouldWait)) {
             failWithMessage("\nЭлемент не отображается");
         }
 
@@ -66,11 +67,11 @@ public abstract class AbstractSelectableAssert<S extends AbstractSelectableAsser
     public S isSelected() {
         isNotNull();
 
-        if (StringUtils.isBlank(descriptionText())) {
-            as(buildDescription());
+        if (LazyDescription.isBlank(info)) {
+            as(LazyDescription.of(this::buildDescription));
         }
 
-        if (!actual.isSelected()) {
+        if (!readSelected()) {
             failWithMessage("Элемент не отмечен");
         }
 
@@ -80,17 +81,53 @@ public abstract class AbstractSelectableAssert<S extends AbstractSelectableAsser
     public S isNotSelected() {
         isNotNull();
 
-        if (StringUtils.isBlank(descriptionText())) {
-            as(buildDescription());
+        if (LazyDescription.isBlank(info)) {
+            as(LazyDescription.of(this::buildDescription));
         }
 
-        if (actual.isSelected()) {
+        if (readSelected()) {
             failWithMessage("Элемент отмечен");
         }
 
         return myself;
     }
 
+    /**
+     * While {@link ArmaAssertions#batch(Runnable)} records the reads of its block, the checks of this
+     * chain read placeholders, so their failures are skipped. Any other failure is reported.
+     */
+    @Override
+    protected void failWithMessage(String errorMessage, Object... arguments) {
+        if (!placeholderRead) {
+            super.failWithMessage(errorMessage, arguments);
+        }
+    }
+
+    private boolean readDisplayed(boolean shouldWait) {
+        if (shouldWait) {
+            return BatchScope.isRecording() || actual.isDisplayed(true);
+        }
+        ElementSnapshot state = batchState(ElementSnapshot.Field.DISPLAYED);
+        return state != null ? state.isDisplayed() : actual.isDisplayed(false);
+    }
+
+    private boolean readSelected() {
+        ElementSnapshot state = batchState(ElementSnapshot.Field.SELECTED);
+        return state != null ? state.isSelected() : actual.isSelected();
+    }
+
+    /**
+     * Other selectables are not batched, they are not read while recording and are read live in
+     * the second pass.
+     */
+    private ElementSnapshot batchState(ElementSnapshot.Field field) {
+        ElementSnapshot state = actual instanceof ArmaElement
+            ? BatchScope.snapshotOf((ArmaElement) actual, field, null, null)
+            : BatchScope.isRecording() ? ElementSnapshot.builder().build() : null;
+        placeholderRead |= state != null && BatchScope.isRecording();
+        return state;
+    }
+
     private String buildDescription() {
         return ((INamed) actual).getLoggableName();
     }
@@ -16,13 +16,14 @@
 
 package com.github.mishaninss.arma.assertions;
 
-import org.apache.commons.lang3.StringUtils;
 import org.assertj.core.api.AbstractObjectAssert;
 import org.assertj.core.api.IntegerAssert;
 import com.github.mishaninss.arma.html.containers.table.Table;
 import com.github.mishaninss.arma.html.elements.ArmaElement;
 import com.github.mishaninss.arma.utils.Preconditions;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Map;
 
 /**
@@ -30,6 +31,8 @@ import java.util.Map;
  */
 public abstract class AbstractTableAssert<S extends AbstractTableAssert<S, A>, A extends Table> extends AbstractObjectAssert<S, A> {
 
+    private TableSnapshot snapshot;
+
     /**
      * Creates a new <code>{@link AbstractTableAssert}</code> to make assertions on actual ArmaElement.
      *
@@ -39,15 +42,31 @@ public abstract class AbstractTableAssert<S extends AbstractTableAssert<S, A>, A
         super(actual, selfType);
     }
 
+    /**
+     * Reads the given columns of the actual Table with a single probe call and indexes them. All
+     * following row lookups and checks of {@link #column(String)} in this assertion chain are
+     * answered from that snapshot. Columns which were not listed are read once on first use.
+     *
+     * @param columnNames names of the columns which will be checked later in the chain
+     * @return this assertion object.
+     */
+    public S snapshot(String... columnNames) {
+        isNotNull();
+
+        snapshot = TableSnapshot.of(actual, Arrays.asList(columnNames));
+        return myself;
+    }
+
     public S containsColumnValue(String columnName, String value) {
         isNotNull();
         Preconditions.checkNotBlank(columnName, "columnName");
 
-        if (StringUtils.isBlank(descriptionText())) {
-            as(buildDescription());
+        if (LazyDescription.isBlank(info)) {
+            as(LazyDescription.of(this::buildDescription));
         }
 
-        int index = actual.findRow(columnName, value);
+        int index = snapshot != null ? snapshot.findRow(columnName, value)
+            : actual.findRow(columnName, value);
         if (index <= 0) {
             failWithMessage("Таблица не содержит записей со значением [%s] в колонке [%s]", value, columnName);
         }
@@ -56,8 +75,11 @@ public abstract class AbstractTableAssert<S extends AbstractTableAssert<S, A>, A
     }
 
     public IntegerAssert rowsCount() {
-        IntegerAssert integerAssert = new IntegerAssert(actual.getRowsCount());
-        integerAssert.as("Количество строк в таблице " + buildDescription());
+        int rowsCount = snapshot != null ? snapshot.getRowsCount() : -1;
+        IntegerAssert integerAssert = new IntegerAssert(
+            rowsCount >= 0 ? rowsCount : actual.getRowsCount());
+        integerAssert.as(LazyDescription.of(
+            () -> "Количество строк в таблице " + buildDescription()));
         return integerAssert;
     }
 
@@ -65,11 +87,11 @@ public abstract class AbstractTableAssert<S extends AbstractTableAssert<S, A>, A
         isNotNull();
         Preconditions.checkNotNull(data, "data");
 
-        if (StringUtils.isBlank(descriptionText())) {
-            as(buildDescription());
+        if (LazyDescription.isBlank(info)) {
+            as(LazyDescription.of(this::buildDescription));
         }
 
-        int index = actual.findRowIndex(data);
+        int index = snapshot != null ? snapshot.findRowIndex(data) : actual.findRowIndex(data);
         if (index <= 0) {
             failWithMessage("Таблица не содержит записей с указанными значениями: %s", data.toString());
         }
@@ -77,16 +99,45 @@ public abstract class AbstractTableAssert<S extends AbstractTableAssert<S, A>, A
         return myself;
     }
 
+    /**
+     * Verifies that the given columns match the fingerprint recorded with
+     * {@link Fingerprints#record(Table, Collection)}. Values are read in full only if the
+     * probe computes the fingerprint in the page and it does not match.
+     */
+    public S matchesFingerprint(Collection<String> columnNames, String expectedFingerprint) {
+        isNotNull();
+        Preconditions.checkNotNull(columnNames, "columnNames");
+        Preconditions.checkNotBlank(expectedFingerprint, "expectedFingerprint");
+
+        if (LazyDescription.isBlank(info)) {
+            as(LazyDescription.of(this::buildDescription));
+        }
+
+        ArmaProbe probe = ArmaAssertionsConfig.getProbe();
+        Fingerprint actualFingerprint = probe.fingerprint(actual, columnNames);
+        if (!expectedFingerprint.equals(actualFingerprint.getValue())) {
+            Object values = actualFingerprint.getRows().isPresent()
+                    ? actualFingerprint.getRows().get() : probe.readColumns(actual, columnNames);
+            failWithMessage("\nОтпечаток таблицы не совпадает: ожидался [%s], но был [%s]."
+                    + "\nТекущие значения: %s", expectedFingerprint, actualFingerprint, values);
+        }
+        return myself;
+    }
+
     @SuppressWarnings("unchecked")
     public ArmaColumnAssert column(String columnName) {
         isNotNull();
         Preconditions.checkNotBlank(columnName, "columnName");
 
-        if (StringUtils.isBlank(descriptionText())) {
-            as(buildDescription());
+        if (LazyDescription.isBlank(info)) {
+            as(LazyDescription.of(this::buildDescription));
         }
 
-        return ArmaAssertions.assertThat(actual.findColumnByName(columnName));
+        if (snapshot == null) {
+            return ArmaAssertions.assertThat(actual.findColumnByName(columnName));
+        }
+        return ArmaAssertions.assertThat(snapshot.getColumn(columnName))
+            .readFrom(snapshot, columnName);
     }
 
     private String buildDescription() {
@@ -101,8 +152,8 @@ public abstract class AbstractTableAssert<S extends AbstractTableAssert<S, A>, A
         // check that actual Table we want to make assertions on is not null.
         isNotNull();
 
-        if (StringUtils.isBlank(descriptionText())) {
-            as(buildDescription());
+        if (LazyDescription.isBlank(info)) {
+            as(LazyDescription.of(this::buildDescription));
         }
 
         // check that property call/field access is true
@@ -9,6 +9,7 @@ import com.github.mishaninss.arma.html.containers.table.Table;
 import com.github.mishaninss.arma.html.elements.ArmaElement;
 import com.github.mishaninss.arma.html.elements.interfaces.ISelectable;
 import com.github.mishaninss.arma.html.interfaces.IInteractiveElement;
+import com.github.mishaninss.arma.utils.Preconditions;
 import javax.annotation.CheckReturnValue;
 
 /**
@@ -30,16 +31,19 @@ public class ArmaAssertions {
 
   @CheckReturnValue
   public static ArmaContainerAssert assertThat(ArmaContainer actual) {
+    BatchScope.checkNotBatched(ArmaContainer.class);
     return new ArmaContainerAssert(actual);
   }
 
   @CheckReturnValue
   public static ArmaTableAssert assertThat(Table actual) {
+    BatchScope.checkNotBatched(Table.class);
     return new ArmaTableAssert(actual);
   }
 
   @CheckReturnValue
   public static ArmaColumnAssert assertThat(Column<IInteractiveElement> actual) {
+    BatchScope.checkNotBatched(Column.class);
     return new ArmaColumnAssert(actual);
   }
 
@@ -50,20 +54,47 @@ public class ArmaAssertions {
 
   @CheckReturnValue
   public static IInteractiveElementAssert assertThat(IInteractiveElement actual) {
+    BatchScope.checkNotBatched(IInteractiveElement.class);
     return new IInteractiveElementAssert(actual);
   }
 
   @CheckReturnValue
   public static ArmaIndexedElementAssert assertThat(
       IndexedElement<? extends IInteractiveElement> actual) {
+    BatchScope.checkNotBatched(IndexedElement.class);
     return new ArmaIndexedElementAssert(actual);
   }
 
   @CheckReturnValue
   public static ArmaIndexedContainerAssert assertThat(IndexedContainer<?> actual) {
+    BatchScope.checkNotBatched(IndexedContainer.class);
     return new ArmaIndexedContainerAssert(actual);
   }
 
+  /**
+   * Runs a block of element assertions with their reads coalesced. The block runs twice: the
+   * first pass records which elements, attributes and css values the assertions read without
+   * reading them, then all of them are read with a single probe call and the second pass checks
+   * the assertions against the results.
+   * <pre>{@code
+   * ArmaAssertions.batch(() -> {
+   *   assertThat(login).isDisplayed().value().isEqualTo("John");
+   *   assertThat(submit).isEnabled().attribute("type").isEqualTo("submit");
+   * });
+   * }</pre>
+   * Only {@link ArmaElement} and {@link ISelectable} assertions can be used in the block, the first
+   * pass neither reads these elements nor waits for them. Waits are done in the second pass only.
+   * The block must have no side effects and must make the same reads in both passes.
+   *
+   * @param assertions the block of assertions
+   * @throws IllegalStateException if the block uses other Arma assertions or makes reads in the
+   *     second pass which it has not made in the first one
+   */
+  public static void batch(Runnable assertions) {
+    Preconditions.checkNotNull(assertions, "assertions");
+    BatchScope.run(assertions);
+  }
+
   /**
    * Creates a new <code>{@link ArmaAssertions}</code>.
    */
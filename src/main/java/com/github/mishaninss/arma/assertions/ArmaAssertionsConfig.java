@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.mishaninss.arma.assertions;
+
+import com.github.mishaninss.arma.html.interfaces.IInteractiveElement;
+import com.github.mishaninss.arma.utils.Preconditions;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Global settings of the assertions module.
+ */
+public final class ArmaAssertionsConfig {
+
+  private static volatile ArmaProbe probe = new DefaultArmaProbe();
+  private static volatile Duration waitTimeout = Long.getLong(
+      "arma.assertions.wait.timeout") == null ? null
+      : Duration.ofSeconds(Long.getLong("arma.assertions.wait.timeout"));
+  private static volatile Duration pollInterval = Duration.ofMillis(
+      Long.getLong("arma.assertions.wait.poll", 200));
+  private static volatile boolean cacheEnabled = Boolean.getBoolean("arma.assertions.cache");
+  private static volatile int softMaxErrors = Integer.getInteger(
+      "arma.assertions.soft.max.errors", 1000);
+  private static volatile int softMaxMessageLength = Integer.getInteger(
+      "arma.assertions.soft.max.message", 4000);
+  private static volatile int budgetMaxFailures = Integer.getInteger(
+      "arma.assertions.budget.failures", Integer.MAX_VALUE);
+  private static volatile Duration budgetMaxElapsed = Long.getLong(
+      "arma.assertions.budget.elapsed") == null ? null
+      : Duration.ofSeconds(Long.getLong("arma.assertions.budget.elapsed"));
+
+  private static volatile Locale numberLocale = System.getProperty(
+      "arma.assertions.number.locale") == null ? Locale.getDefault(Locale.Category.FORMAT)
+      : Locale.forLanguageTag(System.getProperty("arma.assertions.number.locale"));
+
+  private static volatile Executor asyncExecutor;
+  private static volatile Duration asyncTimeout = Duration.ofSeconds(
+      Long.getLong("arma.assertions.async.timeout", 300));
+
+  private ArmaAssertionsConfig() {
+    // empty
+  }
+
+  public static ArmaProbe getProbe() {
+    return probe;
+  }
+
+  /**
+   * Sets the probe used by assertions to read groups of elements.
+   *
+   * @param probe the probe to use
+   */
+  public static void setProbe(ArmaProbe probe) {
+    Preconditions.checkNotNull(probe, "probe");
+    ArmaAssertionsConfig.probe = probe;
+  }
+
+  public static Optional<Duration> getWaitTimeout() {
+    return Optional.ofNullable(waitTimeout);
+  }
+
+  /**
+   * Sets the timeout of waits performed by the assertions themselves, e.g. the shared wait of a
+   * whole container. Can also be set in seconds with the {@code arma.assertions.wait.timeout}
+   * system property. By default such a wait lasts as long as the longest own timeout of the waited
+   * elements, see {@link ArmaProbe#waitTimeout(IInteractiveElement)}.
+   *
+   * @param waitTimeout the timeout to use, {@code null} to use the own timeouts of the elements
+   */
+  public static void setWaitTimeout(Duration waitTimeout) {
+    ArmaAssertionsConfig.waitTimeout = waitTimeout;
+  }
+
+  public static Duration getPollInterval() {
+    return pollInterval;
+  }
+
+  /**
+   * Sets the interval between probes of waits performed by the assertions themselves. Can also be
+   * set in milliseconds with the {@code arma.assertions.wait.poll} system property.
+   *
+   * @param pollInterval the interval to use
+   */
+  public static void setPollInterval(Duration pollInterval) {
+    Preconditions.checkNotNull(pollInterval, "pollInterval");
+    ArmaAssertionsConfig.pollInterval = pollInterval;
+  }
+
+  public static boolean isCacheEnabled() {
+    return cacheEnabled;
+  }
+
+  /**
+   * Enables the cache of passed container checks. A cached check is skipped while the DOM version
+   * reported by the probe stays the same, so the cache only has effect with a probe which tracks
+   * DOM mutations. Can also be enabled with the {@code arma.assertions.cache} system property.
+   *
+   * @param cacheEnabled true to enable the cache
+   */
+  public static void setCacheEnabled(boolean cacheEnabled) {
+    ArmaAssertionsConfig.cacheEnabled = cacheEnabled;
+    if (!cacheEnabled) {
+      AssertionCache.clear();
+    }
+  }
+
+  /**
+   * Drops the cached element lists of containers. Needed only if page objects add or remove
+   * elements at runtime.
+   */
+  public static void clearContainerStructures() {
+    ContainerStructure.clear();
+  }
+
+  public static int getSoftMaxErrors() {
+    return softMaxErrors;
+  }
+
+  /**
+   * Sets the maximum number of errors stored by a new {@link ArmaSoftAssertions}. Further errors
+   * are only counted in the report. Can also be set with the {@code
+   * arma.assertions.soft.max.errors} system property.
+   *
+   * @param softMaxErrors the limit, must be positive
+   */
+  public static void setSoftMaxErrors(int softMaxErrors) {
+    if (softMaxErrors <= 0) {
+      throw new IllegalArgumentException("softMaxErrors must be positive");
+    }
+    ArmaAssertionsConfig.softMaxErrors = softMaxErrors;
+  }
+
+  public static int getSoftMaxMessageLength() {
+    return softMaxMessageLength;
+  }
+
+  /**
+   * Sets the maximum length of an error message stored by a new {@link ArmaSoftAssertions}, longer
+   * messages are truncated. Can also be set with the {@code arma.assertions.soft.max.message}
+   * system property.
+   *
+   * @param softMaxMessageLength the limit, must be positive
+   */
+  public static void setSoftMaxMessageLength(int softMaxMessageLength) {
+    if (softMaxMessageLength <= 0) {
+      throw new IllegalArgumentException("softMaxMessageLength must be positive");
+    }
+    ArmaAssertionsConfig.softMaxMessageLength = softMaxMessageLength;
+  }
+
+  public static int getBudgetMaxFailures() {
+    return budgetMaxFailures;
+  }
+
+  public static Duration getBudgetMaxElapsed() {
+    return budgetMaxElapsed;
+  }
+
+  /**
+   * Sets the default failure budget of a new {@link ArmaSoftAssertions}, including the ones
+   * created by container assertions. Once the budget is exceeded, the remaining checks are skipped
+   * and summarized. Can also be set with the {@code arma.assertions.budget.failures} and {@code
+   * arma.assertions.budget.elapsed} (in seconds) system properties. There is no limit by default.
+   *
+   * @param maxFailures maximum number of failures, must be positive
+   * @param maxElapsed maximum time to spend on checks, {@code null} for no limit
+   */
+  public static void setFailureBudget(int maxFailures, Duration maxElapsed) {
+    if (maxFailures <= 0) {
+      throw new IllegalArgumentException("maxFailures must be positive");
+    }
+    ArmaAssertionsConfig.budgetMaxFailures = maxFailures;
+    ArmaAssertionsConfig.budgetMaxElapsed = maxElapsed;
+  }
+
+  public static Locale getNumberLocale() {
+    return numberLocale;
+  }
+
+  /**
+   * Sets the locale whose number format is used to parse numeric column values, e.g. by
+   * {@link ColumnOrder#numeric()} and the column sum. Can also be set as a language tag with the
+   * {@code arma.assertions.number.locale} system property. The default format locale of the JVM
+   * is used by default.
+   *
+   * @param numberLocale the locale to use
+   */
+  public static void setNumberLocale(Locale numberLocale) {
+    Preconditions.checkNotNull(numberLocale, "numberLocale");
+    ArmaAssertionsConfig.numberLocale = numberLocale;
+  }
+
+  /**
+   * @return the executor of {@link ArmaAsyncAssertions}, a virtual thread per check if the JVM
+   *     supports virtual threads, otherwise a shared cached pool of daemon threads
+   */
+  public static Executor getAsyncExecutor() {
+    Executor executor = asyncExecutor;
+    return executor != null ? executor : DefaultAsyncExecutor.INSTANCE;
+  }
+
+  /**
+   * Sets the executor which runs checks of a new {@link ArmaAsyncAssertions}.
+   *
+   * @param asyncExecutor the executor to use
+   */
+  public static void setAsyncExecutor(Executor asyncExecutor) {
+    Preconditions.checkNotNull(asyncExecutor, "asyncExecutor");
+    ArmaAssertionsConfig.asyncExecutor = asyncExecutor;
+  }
+
+  public static Duration getAsyncTimeout() {
+    return asyncTimeout;
+  }
+
+  /**
+   * Sets the maximum time {@link ArmaAsyncAssertions} waits for its checks. Checks not finished in
+   * time are reported as failures. Can also be set in seconds with the {@code
+   * arma.assertions.async.timeout} system property.
+   *
+   * @param asyncTimeout the timeout to use
+   */
+  public static void setAsyncTimeout(Duration asyncTimeout) {
+    Preconditions.checkNotNull(asyncTimeout, "asyncTimeout");
+    ArmaAssertionsConfig.asyncTimeout = asyncTimeout;
+  }
+
+  private static final class DefaultAsyncExecutor {
+
+    private static final Executor INSTANCE = create();
+
+    private static Executor create() {
+      try {
+        Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        return (ExecutorService) factory.invoke(null);
+      } catch (ReflectiveOperationException ex) {
+        return Executors.newCachedThreadPool(runnable -> {
+          Thread thread = new Thread(runnable, "arma-async-assertions");
+          thread.setDaemon(true);
+          return thread;
+        });
+      }
+    }
+  }
+
+}
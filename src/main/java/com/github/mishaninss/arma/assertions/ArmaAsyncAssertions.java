@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mishaninss.arma.assertions;
+
+import com.github.mishaninss.arma.utils.Preconditions;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.assertj.core.api.SoftAssertionError;
+
+/**
+ * Runs independent checks concurrently, so checks of separate driver sessions or frames overlap
+ * instead of adding up their driver latency. Every check is a regular assertion, e.g.
+ * <pre>{@code
+ * ArmaAsyncAssertions async = new ArmaAsyncAssertions();
+ * async.check(() -> ArmaAssertions.assertThat(header).isDisplayed(true));
+ * async.check(() -> ArmaAssertions.assertThat(footer).containsValues(values));
+ * async.assertAll();
+ * }</pre>
+ * Checks run on the executor configured with
+ * {@link ArmaAssertionsConfig#setAsyncExecutor(Executor)}, virtual threads if the JVM supports
+ * them. A check runs on another thread than the test, so it must only use elements whose driver
+ * session can be used from any thread. Checks are awaited at most for the timeout configured with
+ * {@link ArmaAssertionsConfig#setAsyncTimeout(Duration)}, unfinished checks are reported as
+ * failures. Every started check is reported once, by the first {@code assertAll} or
+ * {@code allOf} call after it.
+ */
+public class ArmaAsyncAssertions {
+
+  private final Executor executor;
+  private final Duration timeout;
+  private final Queue<CompletableFuture<Void>> checks = new ConcurrentLinkedQueue<>();
+
+  public ArmaAsyncAssertions() {
+    this(ArmaAssertionsConfig.getAsyncExecutor());
+  }
+
+  /**
+   * @param executor the executor to run checks on
+   */
+  public ArmaAsyncAssertions(Executor executor) {
+    this(executor, ArmaAssertionsConfig.getAsyncTimeout());
+  }
+
+  /**
+   * @param executor the executor to run checks on
+   * @param timeout maximum time to wait for the checks
+   */
+  public ArmaAsyncAssertions(Executor executor, Duration timeout) {
+    Preconditions.checkNotNull(executor, "executor");
+    Preconditions.checkNotNull(timeout, "timeout");
+    this.executor = executor;
+    this.timeout = timeout;
+  }
+
+  /**
+   * Starts the given check.
+   *
+   * @param check the check to run, fails with an {@link AssertionError}
+   * @return the future of the check, completed exceptionally if the check has failed
+   */
+  public CompletableFuture<Void> check(Runnable check) {
+    Preconditions.checkNotNull(check, "check");
+    CompletableFuture<Void> future = CompletableFuture.runAsync(check, executor);
+    checks.add(future);
+    return future;
+  }
+
+  /**
+   * @return a future completed when all the started checks are done. It is completed
+   *     exceptionally with a {@link SoftAssertionError} holding all failures if some checks have
+   *     failed.
+   */
+  public CompletableFuture<Void> allOf() {
+    List<CompletableFuture<Void>> started = drain();
+    return CompletableFuture.allOf(started.toArray(new CompletableFuture<?>[0]))
+        .completeOnTimeout(null, timeout.toMillis(), TimeUnit.MILLISECONDS)
+        .handle((ignored, error) -> {
+          assertAll(started);
+          return null;
+        });
+  }
+
+  /**
+   * Waits for all the started checks and reports all failures at once, the way
+   * {@link ArmaSoftAssertions#assertAll()} does.
+   *
+   * @throws SoftAssertionError if some checks have failed
+   */
+  public void assertAll() {
+    List<CompletableFuture<Void>> started = drain();
+    try {
+      CompletableFuture.allOf(started.toArray(new CompletableFuture<?>[0]))
+          .get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (ExecutionException | TimeoutException ex) {
+      // failed and unfinished checks are reported below
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new CompletionException("Interrupted while waiting for checks", ex);
+    }
+    assertAll(started);
+  }
+
+  /**
+   * Takes the started checks out of the queue, so they are reported only once.
+   */
+  private List<CompletableFuture<Void>> drain() {
+    List<CompletableFuture<Void>> started = new ArrayList<>();
+    for (CompletableFuture<Void> future = checks.poll(); future != null; future = checks.poll()) {
+      started.add(future);
+    }
+    return started;
+  }
+
+  private void assertAll(List<CompletableFuture<Void>> started) {
+    List<String> failures = new ArrayList<>();
+    RuntimeException unexpected = null;
+    for (CompletableFuture<Void> future : started) {
+      if (!future.isDone()) {
+        failures.add(String.format("Check did not finish in %s", timeout));
+        continue;
+      }
+      Throwable error = failureOf(future);
+      if (error instanceof SoftAssertionError) {
+        failures.addAll(((SoftAssertionError) error).getErrors());
+      } else if (error instanceof AssertionError) {
+        failures.add(error.getMessage());
+      } else if (error != null) {
+        if (unexpected == null) {
+          unexpected = new CompletionException("Check failed with an exception", error);
+        } else {
+          unexpected.addSuppressed(error);
+        }
+      }
+    }
+    if (unexpected != null) {
+      if (!failures.isEmpty()) {
+        unexpected.addSuppressed(new SoftAssertionError(failures));
+      }
+      throw unexpected;
+    }
+    if (!failures.isEmpty()) {
+      throw new SoftAssertionError(failures);
+    }
+  }
+
+  private static Throwable failureOf(CompletableFuture<Void> future) {
+    try {
+      future.join();
+      return null;
+    } catch (CompletionException ex) {
+      return ex.getCause() != null ? ex.getCause() : ex;
+    } catch (RuntimeException ex) {
+      return ex;
+    }
+  }
+
+}
@@ -0,0 +1,406 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.mishaninss.arma.assertions;
+
+import com.github.mishaninss.arma.html.composites.IndexedElement;
+import com.github.mishaninss.arma.html.containers.IndexedContainer;
+import com.github.mishaninss.arma.html.containers.table.Column;
+import com.github.mishaninss.arma.html.containers.table.Table;
+import com.github.mishaninss.arma.html.interfaces.IInteractiveElement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Reads the state of several elements at once. Assertions that check a whole group of elements go
+ * through the probe instead of calling every element separately, so a driver specific
+ * implementation can serve a group with a single script execution.
+ * <p>
+ * The default methods read every element through its own API, so a driver specific probe only
+ * overrides the operations it can serve in bulk. The probe in use is configured with
+ * {@link ArmaAssertionsConfig#setProbe(ArmaProbe)}.
+ */
+public interface ArmaProbe {
+
+  /**
+   * Reads values of the given elements.
+   *
+   * @param elements elements to read, keyed by element id
+   * @return values keyed by the same ids, in the iteration order of {@code elements}
+   */
+  default Map<String, String> readValues(Map<String, ? extends IInteractiveElement> elements) {
+    Map<String, String> values = new LinkedHashMap<>();
+    elements.forEach((elementId, element) -> values.put(elementId, element.readValue()));
+    return values;
+  }
+
+  /**
+   * Reads the requested fields, attributes and css values of an element. An element which is
+   * missing on the page is not displayed and has null values, see
+   * {@link ElementSnapshot#missing(SnapshotRequest)}.
+   * <p>
+   * The default implementation reads every requested field with its own element call.
+   *
+   * @param request what to read
+   * @return immutable snapshot holding exactly the requested state
+   */
+  default ElementSnapshot snapshot(SnapshotRequest request) {
+    return ElementReads.snapshot(request);
+  }
+
+  /**
+   * Reads snapshots of several elements at once, see {@link #snapshot(SnapshotRequest)}. Every
+   * element is read only for the state requested for it.
+   *
+   * @param requests what to read
+   * @return snapshots in the order of {@code requests}
+   */
+  default List<ElementSnapshot> snapshots(List<SnapshotRequest> requests) {
+    List<ElementSnapshot> snapshots = new ArrayList<>(requests.size());
+    requests.forEach(request -> snapshots.add(snapshot(request)));
+    return snapshots;
+  }
+
+  /**
+   * Checks visibility of the given elements without waiting.
+   *
+   * @param elements elements to check
+   * @return visibility flags in the order of {@code elements}
+   */
+  default List<Boolean> areDisplayed(List<? extends IInteractiveElement> elements) {
+    List<Boolean> displayed = new ArrayList<>(elements.size());
+    elements.forEach(element -> displayed.add(element.isDisplayed(false)));
+    return displayed;
+  }
+
+  /**
+   * Checks that the given elements are hidden or absent. Elements are expected to be missing here,
+   * so implementations should not spend the implicit wait of the driver looking for them.
+   * <p>
+   * The default implementation relies on the non waiting visibility check of every element.
+   *
+   * @param elements elements to check
+   * @return flags in the order of {@code elements}, true for a hidden or absent element
+   */
+  default List<Boolean> areNotDisplayed(List<? extends IInteractiveElement> elements) {
+    List<Boolean> notDisplayed = new ArrayList<>(elements.size());
+    elements.forEach(element -> notDisplayed.add(!element.isDisplayed(false)));
+    return notDisplayed;
+  }
+
+  /**
+   * Waits until all the given elements are displayed or the timeout expires. Event driven
+   * implementations should observe the page, e.g. with {@code MutationObserver} and {@code
+   * IntersectionObserver}, and block on a single asynchronous script instead of polling.
+   * <p>
+   * The default implementation polls {@link #areDisplayed(List)} with the configured poll
+   * interval.
+   *
+   * @param elements elements to wait for
+   * @param timeout the time to wait
+   * @return visibility flags in the order of {@code elements} as of the end of the wait
+   */
+  default List<Boolean> awaitDisplayed(List<? extends IInteractiveElement> elements,
+      Duration timeout) {
+    return ElementsWait.pollDisplayed(this, elements, timeout);
+  }
+
+  /**
+   * Waits until all the given elements are hidden or absent, or the timeout expires.
+   * <p>
+   * The default implementation polls {@link #areNotDisplayed(List)} with the configured poll
+   * interval.
+   *
+   * @param elements elements to wait for
+   * @param timeout the time to wait
+   * @return flags in the order of {@code elements} as of the end of the wait, true for a hidden or
+   *     absent element
+   * @see #awaitDisplayed(List, Duration)
+   */
+  default List<Boolean> awaitNotDisplayed(List<? extends IInteractiveElement> elements,
+      Duration timeout) {
+    return ElementsWait.pollNotDisplayed(this, elements, timeout);
+  }
+
+  /**
+   * Returns the timeout the element applies to its own waits, e.g. in {@code isDisplayed(true)}.
+   * Waits for a group of elements last as long as the longest own timeout of the group unless a
+   * timeout is set in {@link ArmaAssertionsConfig#setWaitTimeout(Duration)}.
+   * <p>
+   * The default implementation returns an empty optional, as elements do not expose their timeout.
+   * Group waits then rely on the own waits of the elements, see {@link
+   * #awaitDisplayed(IInteractiveElement)}.
+   *
+   * @param element element to wait for
+   * @return the own timeout of the element, if known
+   */
+  default Optional<Duration> waitTimeout(IInteractiveElement element) {
+    return Optional.empty();
+  }
+
+  /**
+   * Waits until the element is displayed, using the wait configured for the element itself.
+   * <p>
+   * The default implementation calls {@code isDisplayed(true)} of the element.
+   *
+   * @param element element to wait for
+   * @return true if the element is displayed
+   */
+  default boolean awaitDisplayed(IInteractiveElement element) {
+    return element.isDisplayed(true);
+  }
+
+  /**
+   * Checks that the element is hidden or absent, using the wait configured for the element itself.
+   * <p>
+   * The default implementation calls {@code isDisplayed(true)} of the element, so an element which
+   * appears before its own timeout expires is reported as displayed.
+   *
+   * @param element element to check
+   * @return true if the element is hidden or absent
+   */
+  default boolean awaitNotDisplayed(IInteractiveElement element) {
+    return !element.isDisplayed(true);
+  }
+
+  /**
+   * Waits until values of the given elements match the expected ones or the timeout expires.
+   * <p>
+   * The default implementation polls {@link #readValues(Map)} with a pause growing while
+   * nothing changes.
+   *
+   * @param elements elements to wait for, keyed by element id
+   * @param expectedValues expected values keyed by the same ids
+   * @param timeout the time to wait
+   * @return the last read values of the elements which still do not match, keyed by element id
+   * @see #awaitDisplayed(List, Duration)
+   */
+  default Map<String, String> awaitValues(Map<String, ? extends IInteractiveElement> elements,
+      Map<String, String> expectedValues, Duration timeout) {
+    return ElementsWait.pollValues(this, elements, expectedValues, timeout);
+  }
+
+  /**
+   * Reads all cell values of the given table columns.
+   *
+   * @param table the table to read
+   * @param columnNames names of the columns to read
+   * @return cell values in row order keyed by column name
+   */
+  @SuppressWarnings("unchecked")
+  default Map<String, List<String>> readColumns(Table table, Collection<String> columnNames) {
+    Map<String, List<String>> columns = new LinkedHashMap<>();
+    columnNames.forEach(columnName ->
+        columns.put(columnName, table.findColumnByName(columnName).readValues()));
+    return columns;
+  }
+
+  /**
+   * Reads the given fields of all containers of an indexed container.
+   *
+   * @param container the indexed container to read
+   * @param keys ids of the fields to read
+   * @return one map of field values per container, in container order
+   */
+  @SuppressWarnings("unchecked")
+  default List<Map<String, String>> readAll(IndexedContainer<?> container, Set<String> keys) {
+    return container.readAll(keys);
+  }
+
+  /**
+   * Streams cell values of a column in row order. Nothing is read before a terminal operation, and
+   * implementations may fetch rows in chunks so a short-circuiting operation stops reading a large
+   * or paginated grid as soon as it has an answer.
+   * <p>
+   * The default implementation defers reading until the stream is consumed, then reads the
+   * whole column at once since the generic column API has no paging.
+   *
+   * @param column the column to read
+   * @return lazy stream of cell values
+   */
+  default Stream<String> streamValues(Column<?> column) {
+    return Stream.of(column).flatMap(c -> c.readValues().stream());
+  }
+
+  /**
+   * Checks whether some cell of a column has the given value. Reading stops at the first matching
+   * cell, so a probe streaming the column in chunks does not read the rest of it.
+   * <p>
+   * The default implementation looks for the value in {@link #streamValues(Column)}.
+   *
+   * @param column the column to read
+   * @param value the value to find
+   * @return true if a cell has the value
+   */
+  default boolean containsValue(Column<?> column, String value) {
+    try (Stream<String> values = streamValues(column)) {
+      return values.anyMatch(cell -> Objects.equals(cell, value));
+    }
+  }
+
+  /**
+   * Streams values of an indexed element in index order. Nothing is read before a terminal
+   * operation, and implementations may fetch values in chunks.
+   * <p>
+   * The default implementation defers reading until the stream is consumed, then reads all
+   * values at once.
+   *
+   * @param element the indexed element to read
+   * @return lazy stream of values
+   */
+  default Stream<String> streamValues(IndexedElement<?> element) {
+    return Stream.of(element).flatMap(e -> e.readValues().stream());
+  }
+
+  /**
+   * Returns a counter of DOM mutations of the current page, e.g. maintained by an injected
+   * {@code MutationObserver}. The value must change on every mutation and must not repeat after
+   * navigation to another page. Used to invalidate the assertion cache.
+   * <p>
+   * Mutations are not tracked by the default implementation, so the assertion cache is never
+   * used with it.
+   *
+   * @return the current DOM version, or a negative value if mutations are not tracked
+   */
+  default long domVersion() {
+    return -1;
+  }
+
+  /**
+   * Computes the fingerprint of values of the given elements, see {@link Fingerprints}. A driver
+   * specific implementation should compute it in the page, so only the hash is transferred, and
+   * return it with {@link Fingerprint#ofHash(String)}.
+   * <p>
+   * The default implementation reads the values and hashes them in the JVM. The fingerprint keeps
+   * the values, so a mismatch is reported without reading them again.
+   *
+   * @param elements elements to read, keyed by element id
+   * @return the fingerprint
+   */
+  default Fingerprint fingerprint(Map<String, ? extends IInteractiveElement> elements) {
+    return Fingerprint.ofValues(readValues(elements));
+  }
+
+  /**
+   * Computes the fingerprint of the given fields of all containers of an indexed container.
+   *
+   * @param container the indexed container to read
+   * @param keys ids of the fields to read
+   * @return the fingerprint
+   * @see #fingerprint(Map)
+   */
+  default Fingerprint fingerprint(IndexedContainer<?> container, Set<String> keys) {
+    return Fingerprint.ofRows(readAll(container, keys));
+  }
+
+  /**
+   * Computes the fingerprint of a column.
+   *
+   * @param column the column to read
+   * @return the fingerprint
+   * @see #fingerprint(Map)
+   */
+  default Fingerprint fingerprint(Column<?> column) {
+    try (Stream<String> values = streamValues(column)) {
+      return Fingerprint.ofColumn(column.getName(), values.collect(Collectors.toList()));
+    }
+  }
+
+  /**
+   * Computes the fingerprint of the given table columns.
+   *
+   * @param table the table to read
+   * @param columnNames names of the columns to read
+   * @return the fingerprint
+   * @see #fingerprint(Map)
+   */
+  default Fingerprint fingerprint(Table table, Collection<String> columnNames) {
+    return Fingerprint.ofColumns(readColumns(table, columnNames));
+  }
+
+  /**
+   * Finds cells of a column which break the given order: cells out of order with the nearest
+   * comparable cell above them, and cells which cannot be compared. A driver specific
+   * implementation should compute it in the page, so only the offending cells are transferred.
+   * <p>
+   * The default implementation streams the column through {@link #streamValues(Column)}.
+   *
+   * @param column the column to read
+   * @param order the expected order
+   * @param limit maximum number of offending cells to return
+   * @return values of the offending cells keyed by 1-based row index
+   */
+  default Map<Integer, String> findUnsorted(Column<?> column, ColumnOrder order, int limit) {
+    try (Stream<String> values = streamValues(column)) {
+      return ColumnAggregates.unsorted(values, order, limit);
+    }
+  }
+
+  /**
+   * Finds cells of a column with repeated values, including the first occurrence of each value.
+   *
+   * @param column the column to read
+   * @param limit maximum number of offending cells to return
+   * @return values of the offending cells keyed by 1-based row index
+   * @see #findUnsorted(Column, ColumnOrder, int)
+   */
+  default Map<Integer, String> findDuplicates(Column<?> column, int limit) {
+    try (Stream<String> values = streamValues(column)) {
+      return ColumnAggregates.duplicates(values, limit);
+    }
+  }
+
+  /**
+   * Finds cells of a column whose values do not fully match the given regular expression.
+   *
+   * @param column the column to read
+   * @param regex the regular expression
+   * @param limit maximum number of offending cells to return
+   * @return values of the offending cells keyed by 1-based row index
+   * @see #findUnsorted(Column, ColumnOrder, int)
+   */
+  default Map<Integer, String> findNotMatching(Column<?> column, String regex, int limit) {
+    try (Stream<String> values = streamValues(column)) {
+      return ColumnAggregates.notMatching(values, regex, limit);
+    }
+  }
+
+  /**
+   * Computes numeric aggregates of a column in one pass.
+   *
+   * @param column the column to read
+   * @param locale locale of the number format of the values
+   * @param limit maximum number of non-numeric cells to return
+   * @return the aggregates
+   * @see #findUnsorted(Column, ColumnOrder, int)
+   */
+  default ColumnStatistics statistics(Column<?> column, Locale locale, int limit) {
+    try (Stream<String> values = streamValues(column)) {
+      return ColumnAggregates.statistics(values, locale, limit);
+    }
+  }
+
+}
@@ -4,14 +4,82 @@ import com.github.mishaninss.arma.html.containers.ArmaContainer;
 import com.github.mishaninss.arma.html.containers.IndexedContainer;
 import com.github.mishaninss.arma.html.elements.ArmaElement;
 import com.github.mishaninss.arma.html.interfaces.IInteractiveElement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.annotation.CheckReturnValue;
 import org.assertj.core.api.SoftAssertions;
 
 /**
  * Entry point for soft assertions of different data types.
+ * <p>
+ * All errors end up in the single error list of AssertJ, so they are reported in the order the
+ * checks ran. Errors reported with the {@code fail} methods, e.g. by container checks, are
+ * limited in number and message length, see {@link ArmaAssertionsConfig#setSoftMaxErrors(int)}
+ * and {@link ArmaAssertionsConfig#setSoftMaxMessageLength(int)}, and can be reported from
+ * several threads, they are stored under the lock of this object. Assertions created with {@code
+ * assertThat} are AssertJ runtime proxies, their classes are generated once per assertion type
+ * and JVM. Their errors are collected by the proxies themselves: they are not limited, not
+ * truncated and not thread safe. AssertJ 3.15 has no hook to route them through the limits.
+ * <p>
+ * A failure budget set with {@link #withFailureBudget(int, Duration)} stops a broken page from
+ * being checked element by element: once the budget is exceeded, container checks skip the
+ * remaining checks and only count them. Container checks created with {@code assertThat} report
+ * their failures to these soft assertions directly, so they share the budget.
  */
 public class ArmaSoftAssertions extends SoftAssertions {
 
+  private final SoftErrorCollector collector;
+  private final AtomicInteger skippedChecks = new AtomicInteger();
+  private volatile int maxFailures = Integer.MAX_VALUE;
+  private volatile Deadline budgetDeadline;
+
+  public ArmaSoftAssertions() {
+    this(ArmaAssertionsConfig.getSoftMaxErrors(), ArmaAssertionsConfig.getSoftMaxMessageLength());
+  }
+
+  /**
+   * @param maxErrors maximum number of stored errors, further errors are only counted
+   * @param maxMessageLength maximum length of a stored error message
+   */
+  public ArmaSoftAssertions(int maxErrors, int maxMessageLength) {
+    if (maxErrors <= 0 || maxMessageLength <= 0) {
+      throw new IllegalArgumentException("Limits of soft assertion errors must be positive");
+    }
+    collector = new SoftErrorCollector(maxErrors, maxMessageLength);
+    withFailureBudget(ArmaAssertionsConfig.getBudgetMaxFailures(),
+        ArmaAssertionsConfig.getBudgetMaxElapsed());
+  }
+
+  /**
+   * Sets the failure budget of these soft assertions. The budget is exceeded when the given number
+   * of failures has been collected or the given time has passed since this call.
+   *
+   * @param maxFailures maximum number of failures
+   * @param maxElapsed maximum time to spend on checks, {@code null} for no limit
+   * @return this object.
+   */
+  public ArmaSoftAssertions withFailureBudget(int maxFailures, Duration maxElapsed) {
+    if (maxFailures <= 0) {
+      throw new IllegalArgumentException("maxFailures must be positive");
+    }
+    this.maxFailures = maxFailures;
+    this.budgetDeadline = maxElapsed == null ? null : Deadline.after(maxElapsed);
+    return this;
+  }
+
+  /**
+   * Failures reported with the {@code fail} methods, e.g. by container checks, are counted against
+   * the budget. Failures of assertions created with {@code assertThat} are not counted.
+   *
+   * @return true if the number of failures or the elapsed time has exceeded the failure budget
+   */
+  public boolean isBudgetExceeded() {
+    Deadline deadline = budgetDeadline;
+    return collector.count() >= maxFailures || deadline != null && deadline.isExpired();
+  }
+
   /**
    * Creates a new "soft" instance of <code>{@link ArmaElementAssert}</code>.
    *
@@ -25,7 +93,9 @@ public class ArmaSoftAssertions extends SoftAssertions {
 
   @CheckReturnValue
   public ArmaContainerAssert assertThat(ArmaContainer actual) {
-    return proxy(ArmaContainerAssert.class, ArmaContainer.class, actual);
+    ArmaContainerAssert assertion = proxy(ArmaContainerAssert.class, ArmaContainer.class, actual);
+    assertion.enclosingSoftAssertions = this;
+    return assertion;
   }
 
   @CheckReturnValue
@@ -38,4 +108,94 @@ public class ArmaSoftAssertions extends SoftAssertions {
     return proxy(IInteractiveElementAssert.class, IInteractiveElement.class, actual);
   }
 
-}
\ No newline at end of file
+  @Override
+  public void fail(String failureMessage) {
+    collect(new AssertionError(failureMessage));
+  }
+
+  @Override
+  public void fail(String failureMessage, Object... args) {
+    fail(String.format(failureMessage, args));
+  }
+
+  @Override
+  public void fail(String failureMessage, Throwable realCause) {
+    collect(new AssertionError(failureMessage, realCause));
+  }
+
+  @Override
+  public List<Throwable> errorsCollected() {
+    List<Throwable> errors = new ArrayList<>(super.errorsCollected());
+    int dropped = collector.dropped();
+    if (dropped > 0) {
+      errors.add(new AssertionError(String.format(
+          "%d more errors were not stored, the limit is %d errors", dropped,
+          collector.getMaxErrors())));
+    }
+    int skipped = skippedChecks.get();
+    if (skipped > 0) {
+      errors.add(new AssertionError(String.format(
+          "%d checks were skipped because the failure budget was exceeded", skipped)));
+    }
+    return errors;
+  }
+
+  /**
+   * @return number of failures reported with the {@code fail} methods and of checks skipped by the
+   * failure budget so far, including the dropped failures
+   */
+  int reportedCount() {
+    return collector.count() + skippedChecks.get();
+  }
+
+  /**
+   * Counts a check as skipped if the failure budget is exceeded.
+   *
+   * @return true if the check should be skipped
+   */
+  boolean skipIfBudgetExceeded() {
+    if (!isBudgetExceeded()) {
+      return false;
+    }
+    skippedChecks.incrementAndGet();
+    return true;
+  }
+
+  /**
+   * Counts checks skipped by the caller because the failure budget is exceeded.
+   */
+  void skip(int checks) {
+    skippedChecks.addAndGet(checks);
+  }
+
+  /**
+   * @param timeout the timeout of a wait, {@code null} for the own waits of the elements
+   * @return the given timeout shortened to the time left in the failure budget
+   */
+  Duration limitWait(Duration timeout) {
+    Deadline deadline = budgetDeadline;
+    if (deadline == null) {
+      return timeout;
+    }
+    Duration remaining = deadline.remaining();
+    return timeout == null || remaining.compareTo(timeout) < 0 ? remaining : timeout;
+  }
+
+  /**
+   * Adds an error to the AssertJ error list unless the limit of stored errors is reached.
+   */
+  void collect(AssertionError error) {
+    AssertionError stored = collector.admit(error);
+    if (stored == null) {
+      return;
+    }
+    synchronized (this) {
+      if (stored.getCause() == null) {
+        super.fail(stored.getMessage());
+      } else {
+        super.fail(stored.getMessage(), stored.getCause());
+      }
+    }
+  }
+
+}
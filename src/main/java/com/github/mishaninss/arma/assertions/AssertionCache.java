@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mishaninss.arma.assertions;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+
+/**
+ * Caches results of container checks, tagged with the DOM version reported by
+ * {@link ArmaProbe#domVersion()}. An entry is reused only while the version stays the same, so a
+ * repeated check of an unchanged page returns without touching the driver. Only passed checks are
+ * cached. Reading the version costs a driver call itself, so single element checks are not
+ * cached.
+ * <p>
+ * The cache is disabled by default and can be enabled with
+ * {@link ArmaAssertionsConfig#setCacheEnabled(boolean)}.
+ */
+final class AssertionCache {
+
+  private static final long UNTRACKED = -1;
+
+  private static final Map<Object, Map<String, Entry>> ENTRIES =
+      Collections.synchronizedMap(new WeakHashMap<>());
+
+  private AssertionCache() {
+    // empty
+  }
+
+  /**
+   * Reads the current DOM version. Must be called before the check, so a mutation made while the
+   * check runs invalidates its result.
+   *
+   * @param useCache false if the calling assertion has opted out of the cache
+   * @return the current DOM version, or a negative value if the cache should not be used
+   */
+  static long version(boolean useCache) {
+    if (!useCache || !ArmaAssertionsConfig.isCacheEnabled()) {
+      return UNTRACKED;
+    }
+    return ArmaAssertionsConfig.getProbe().domVersion();
+  }
+
+  /**
+   * @param check key of the check, may be null if the version is negative
+   */
+  static boolean hasPassed(Object element, String check, long version) {
+    return get(element, check, version) != null;
+  }
+
+  static void passed(Object element, String check, long version) {
+    put(element, check, version, Boolean.TRUE);
+  }
+
+  /**
+   * Drops all cached results.
+   */
+  static void clear() {
+    ENTRIES.clear();
+  }
+
+  private static Entry get(Object element, String check, long version) {
+    if (version < 0) {
+      return null;
+    }
+    synchronized (ENTRIES) {
+      Map<String, Entry> checks = ENTRIES.get(element);
+      Entry entry = checks == null ? null : checks.get(check);
+      return entry != null && entry.version == version ? entry : null;
+    }
+  }
+
+  private static void put(Object element, String check, long version, Object value) {
+    if (version < 0) {
+      return;
+    }
+    synchronized (ENTRIES) {
+      ENTRIES.computeIfAbsent(element, key -> new HashMap<>()).put(check, new Entry(version, value));
+    }
+  }
+
+  private static final class Entry {
+
+    private final long version;
+    private final Object value;
+
+    private Entry(long version, Object value) {
+      this.version = version;
+      this.value = value;
+    }
+
+    @Override
+    public String toString() {
+      return Objects.toString(value) + "@" + version;
+    }
+  }
+
+}
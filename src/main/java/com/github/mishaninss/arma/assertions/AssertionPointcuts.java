@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.mishaninss.arma.assertions;
+
+import org.aspectj.lang.annotation.Pointcut;
+
+/**
+ * Pointcuts shared by the aspects which measure assertions, e.g.
+ * {@code @Around("com.github.mishaninss.arma.assertions.AssertionPointcuts.assertionMethod()")}.
+ */
+public final class AssertionPointcuts {
+
+  private AssertionPointcuts() {
+    // empty
+  }
+
+  /**
+   * Public methods of the assertion classes.
+   */
+  @Pointcut("execution(public * com.github.mishaninss.arma.assertions.Abstract*Assert.*(..))")
+  public void assertionMethod() {
+    // pointcut
+  }
+
+  /**
+   * A failure collected into soft assertions.
+   */
+  @Pointcut("execution(void com.github.mishaninss.arma.assertions.ArmaSoftAssertions.collect("
+      + "AssertionError))")
+  public void softFailure() {
+    // pointcut
+  }
+
+  /**
+   * A display check of an element made by the assertions, which waits if {@code shouldWait} is
+   * set.
+   */
+  @Pointcut("within(com.github.mishaninss.arma.assertions..*)"
+      + " && call(* com.github.mishaninss.arma.html..*.isDisplayed(boolean)) && args(shouldWait)")
+  public void driverWait(boolean shouldWait) {
+    // pointcut
+  }
+
+  /**
+   * A shared wait of a group of elements.
+   */
+  @Pointcut("execution(* com.github.mishaninss.arma.assertions.ElementsWait.await*(..))")
+  public void containerWait() {
+    // pointcut
+  }
+
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.mishaninss.arma.assertions;
+
+import java.time.Duration;
+
+/**
+ * Exponential pause between probes. The pause doubles while nothing changes and falls back to the
+ * minimum as soon as a probe makes progress.
+ */
+final class Backoff {
+
+  private final Duration min;
+  private final Duration max;
+  private Duration current;
+
+  Backoff(Duration min, Duration max) {
+    this.min = min;
+    this.max = max;
+    this.current = min;
+  }
+
+  /**
+   * Returns the pause before the next probe.
+   *
+   * @param progress whether the last probe made progress
+   */
+  Duration next(boolean progress) {
+    if (progress) {
+      current = min;
+      return current;
+    }
+    Duration pause = current;
+    Duration doubled = current.multipliedBy(2);
+    current = doubled.compareTo(max) > 0 ? max : doubled;
+    return pause;
+  }
+
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mishaninss.arma.assertions;
+
+import com.github.mishaninss.arma.html.elements.ArmaElement;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import org.assertj.core.api.CharSequenceAssert;
+
+/**
+ * Coalesces element reads of a block of assertions, see {@link ArmaAssertions#batch(Runnable)}.
+ * <p>
+ * The block runs twice. The recording pass only collects the fields, attributes and css values
+ * the assertions read from every element. It neither reads nor waits, and only the checks of the
+ * values it has not read are skipped. Then all the elements are read with one {@link
+ * ArmaProbe#snapshots(List)} call, each only for what has been recorded for it, and the second
+ * pass evaluates the assertions against those snapshots.
+ * <p>
+ * The block has to be free of side effects, which is enforced as far as the scope can see it.
+ * Arma assertions which are not batched, e.g. of containers and tables, are rejected, as they
+ * would read and wait in both passes. A second pass which reads what the recording pass has not
+ * recorded fails with an {@link IllegalStateException}. The only exception is a recording pass
+ * ended by a failure of a non Arma assertion: the elements after it are read live.
+ */
+final class BatchScope {
+
+  private static final ThreadLocal<BatchScope> CURRENT = new ThreadLocal<>();
+
+  private final Map<ArmaElement, SnapshotRequest> requests = new IdentityHashMap<>();
+  private final Map<ArmaElement, ElementSnapshot> snapshots = new IdentityHashMap<>();
+  private final ArmaSoftAssertions recordingAssertions = new ArmaSoftAssertions();
+  private boolean recording = true;
+  private boolean recorded;
+
+  private BatchScope() {
+    // use run(Runnable)
+  }
+
+  static void run(Runnable assertions) {
+    if (CURRENT.get() != null) {
+      assertions.run();
+      return;
+    }
+    BatchScope scope = new BatchScope();
+    CURRENT.set(scope);
+    try {
+      try {
+        assertions.run();
+        scope.recorded = true;
+      } catch (AssertionError error) {
+        // a check outside of Arma assertions has failed, it fails again in the second pass
+      }
+      scope.readAll();
+      assertions.run();
+    } finally {
+      CURRENT.remove();
+    }
+  }
+
+  static boolean isRecording() {
+    BatchScope scope = CURRENT.get();
+    return scope != null && scope.recording;
+  }
+
+  /**
+   * @return true inside a batch, in either pass
+   */
+  static boolean isActive() {
+    return CURRENT.get() != null;
+  }
+
+  /**
+   * @throws IllegalStateException inside a batch
+   */
+  static void checkNotBatched(Class<?> actualClass) {
+    if (isActive()) {
+      throw new IllegalStateException(actualClass.getSimpleName()
+          + " assertions cannot be used in ArmaAssertions.batch, only ArmaElement and ISelectable"
+          + " ones are batched");
+    }
+  }
+
+  /**
+   * Returns the state of an element inside a batch. While recording, the read is remembered and
+   * a placeholder is returned.
+   *
+   * @param element the element to read
+   * @param field the field to read, or null
+   * @param attribute name of an attribute to read, or null
+   * @param cssValue name of a css value to read, or null
+   * @return the snapshot to read from, or null if the element should be read live
+   * @throws IllegalStateException if the block reads what it has not read while recording
+   */
+  static ElementSnapshot snapshotOf(ArmaElement element, ElementSnapshot.Field field,
+      String attribute, String cssValue) {
+    BatchScope scope = CURRENT.get();
+    if (scope == null) {
+      return null;
+    }
+    SnapshotRequest request = SnapshotRequest.of(element, field, attribute, cssValue);
+    if (!scope.recording) {
+      ElementSnapshot snapshot = scope.snapshots.get(element);
+      if (snapshot != null && snapshot.covers(request)) {
+        return snapshot;
+      }
+      if (scope.recorded) {
+        throw new IllegalStateException("The block of ArmaAssertions.batch makes a read which it"
+            + " has not made in the recording pass: " + request + ". The block must make the same"
+            + " reads in both passes and have no side effects");
+      }
+      return null;
+    }
+    scope.requests.merge(element, request, SnapshotRequest::union);
+    return ElementSnapshot.missing(request);
+  }
+
+  /**
+   * @return an assertion on the given value which does not fail while recording
+   */
+  static CharSequenceAssert assertThat(CharSequence value) {
+    BatchScope scope = CURRENT.get();
+    if (scope == null || !scope.recording) {
+      return new CharSequenceAssert(value);
+    }
+    return scope.recordingAssertions.proxy(CharSequenceAssert.class, CharSequence.class, value);
+  }
+
+  private void readAll() {
+    recording = false;
+    if (requests.isEmpty()) {
+      return;
+    }
+    List<SnapshotRequest> elementRequests = new ArrayList<>(requests.values());
+    List<ElementSnapshot> read = ArmaAssertionsConfig.getProbe().snapshots(elementRequests);
+    for (int i = 0; i < elementRequests.size(); i++) {
+      snapshots.put(elementRequests.get(i).getElement(), read.get(i));
+    }
+  }
+
+}
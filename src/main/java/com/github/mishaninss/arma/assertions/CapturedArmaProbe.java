@@ -0,0 +1,532 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mishaninss.arma.assertions;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.github.mishaninss.arma.html.composites.IndexedElement;
+import com.github.mishaninss.arma.html.containers.ArmaContainer;
+import com.github.mishaninss.arma.html.containers.IndexedContainer;
+import com.github.mishaninss.arma.html.containers.table.Column;
+import com.github.mishaninss.arma.html.containers.table.Table;
+import com.github.mishaninss.arma.html.elements.ArmaElement;
+import com.github.mishaninss.arma.html.interfaces.IInteractiveElement;
+import com.github.mishaninss.arma.utils.Preconditions;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * {@link ArmaProbe} which evaluates assertions against a captured state of the page instead of the
+ * live driver. The state is captured once, either explicitly with {@link #capture(ArmaContainer)}
+ * or by recording the reads of a run of assertions, and is then served from memory. Captured
+ * states can be saved to a file and loaded later, e.g. to re-run assertions when triaging a CI
+ * failure. States are saved as JSON with Jackson, which is an optional dependency needed only by
+ * {@link #save(Path)} and {@link #load(Path)}.
+ * <pre>{@code
+ * CapturedArmaProbe probe = CapturedArmaProbe.recording(ArmaAssertionsConfig.getProbe());
+ * probe.capture(page);
+ * ArmaAssertionsConfig.setProbe(probe.replaying());
+ * ArmaAssertions.assertThat(page).allElementsAreDisplayed();
+ * }</pre>
+ * Elements, tables and indexed containers are identified by their locators path, so the same page
+ * objects are used for capturing and replaying. Reads of indexed containers are also told apart by
+ * the requested keys. Columns and indexed elements are identified by their locators path if they
+ * are interactive elements, otherwise by their class and name. Only the checks
+ * which read through the probe can be replayed: container, indexed container, table and column
+ * checks, and element checks made after {@link AbstractArmaElementAssert#snapshot()}. Reading an
+ * element which has not been captured fails with {@link IllegalStateException}. The captured
+ * state does not change, so waits return at once.
+ */
+public final class CapturedArmaProbe implements ArmaProbe {
+
+  private final ArmaProbe live;
+  private final CapturedState state;
+
+  private CapturedArmaProbe(ArmaProbe live, CapturedState state) {
+    this.live = live;
+    this.state = state;
+  }
+
+  /**
+   * Creates a probe which reads through the given live probe and captures every read.
+   *
+   * @param live the probe to read the page with
+   * @return a recording probe
+   */
+  public static CapturedArmaProbe recording(ArmaProbe live) {
+    Preconditions.checkNotNull(live, "live");
+    return new CapturedArmaProbe(live, new CapturedState());
+  }
+
+  /**
+   * Loads a state saved with {@link #save(Path)}.
+   *
+   * @param file the file to load
+   * @return a replaying probe
+   * @throws IOException if the file cannot be read or is not a captured state
+   */
+  public static CapturedArmaProbe load(Path file) throws IOException {
+    return new CapturedArmaProbe(null, Json.MAPPER.readValue(file.toFile(), CapturedState.class));
+  }
+
+  /**
+   * @return a probe which serves the state captured so far without touching the page
+   */
+  public CapturedArmaProbe replaying() {
+    return new CapturedArmaProbe(null, state);
+  }
+
+  public boolean isRecording() {
+    return live != null;
+  }
+
+  /**
+   * Captures visibility of all non optional elements of the container and its nested containers,
+   * and values and snapshots of the displayed ones. Hidden and missing elements are captured as
+   * not displayed, with the snapshot of a missing element, so capturing a partly rendered page
+   * does not fail.
+   *
+   * @param container the container to capture
+   * @return this probe.
+   */
+  public CapturedArmaProbe capture(ArmaContainer container) {
+    checkRecording();
+    List<IInteractiveElement> elements = ContainerStructure.deepNotOptionalElements(container);
+    List<Boolean> displayed = areDisplayed(elements);
+    Map<String, IInteractiveElement> byPath = new LinkedHashMap<>();
+    List<SnapshotRequest> requests = new ArrayList<>();
+    for (int i = 0; i < elements.size(); i++) {
+      IInteractiveElement element = elements.get(i);
+      if (displayed.get(i)) {
+        byPath.put(element.getLocatorsPath(), element);
+        if (element instanceof ArmaElement) {
+          requests.add(SnapshotRequest.allFields((ArmaElement) element));
+        }
+      } else if (element instanceof ArmaElement) {
+        state.snapshots.put(element.getLocatorsPath(),
+            ElementSnapshot.missing(SnapshotRequest.allFields((ArmaElement) element)));
+      }
+    }
+    readValues(byPath);
+    snapshots(requests);
+    return this;
+  }
+
+  /**
+   * Saves the captured state as JSON. Should not be called while assertions are still recording.
+   *
+   * @param file the file to write
+   * @throws IOException if the file cannot be written
+   */
+  public void save(Path file) throws IOException {
+    Json.MAPPER.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), state);
+  }
+
+  @Override
+  public Map<String, String> readValues(Map<String, ? extends IInteractiveElement> elements) {
+    if (isRecording()) {
+      Map<String, String> values = live.readValues(elements);
+      elements.forEach((elementId, element) ->
+          state.values.put(element.getLocatorsPath(), values.get(elementId)));
+      return values;
+    }
+    Map<String, String> values = new LinkedHashMap<>();
+    elements.forEach((elementId, element) ->
+        values.put(elementId, captured(state.values, element.getLocatorsPath())));
+    return values;
+  }
+
+  @Override
+  public ElementSnapshot snapshot(SnapshotRequest request) {
+    String path = request.getElement().getLocatorsPath();
+    if (isRecording()) {
+      ElementSnapshot snapshot = live.snapshot(request);
+      state.snapshots.merge(path, snapshot, ElementSnapshot::merge);
+      if (snapshot.has(ElementSnapshot.Field.DISPLAYED)) {
+        state.displayed.put(path, snapshot.isDisplayed());
+      }
+      if (snapshot.has(ElementSnapshot.Field.VALUE)) {
+        state.values.put(path, snapshot.getValue());
+      }
+      return snapshot;
+    }
+    ElementSnapshot snapshot = captured(state.snapshots, path);
+    if (!snapshot.covers(request)) {
+      throw new IllegalStateException("Requested state of element " + path
+          + " has not been captured: " + request);
+    }
+    return snapshot;
+  }
+
+  @Override
+  public List<ElementSnapshot> snapshots(List<SnapshotRequest> requests) {
+    List<ElementSnapshot> snapshots = new ArrayList<>(requests.size());
+    requests.forEach(request -> snapshots.add(snapshot(request)));
+    return snapshots;
+  }
+
+  @Override
+  public List<Boolean> areDisplayed(List<? extends IInteractiveElement> elements) {
+    if (isRecording()) {
+      List<Boolean> displayed = live.areDisplayed(elements);
+      for (int i = 0; i < elements.size(); i++) {
+        state.displayed.put(elements.get(i).getLocatorsPath(), displayed.get(i));
+      }
+      return displayed;
+    }
+    return elements.stream()
+        .map(element -> captured(state.displayed, element.getLocatorsPath()))
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  public List<Boolean> areNotDisplayed(List<? extends IInteractiveElement> elements) {
+    if (isRecording()) {
+      List<Boolean> notDisplayed = live.areNotDisplayed(elements);
+      for (int i = 0; i < elements.size(); i++) {
+        state.displayed.put(elements.get(i).getLocatorsPath(), !notDisplayed.get(i));
+      }
+      return notDisplayed;
+    }
+    return areDisplayed(elements).stream().map(displayed -> !displayed)
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  public List<Boolean> awaitDisplayed(List<? extends IInteractiveElement> elements,
+      Duration timeout) {
+    if (isRecording()) {
+      List<Boolean> displayed = live.awaitDisplayed(elements, timeout);
+      for (int i = 0; i < elements.size(); i++) {
+        state.displayed.put(elements.get(i).getLocatorsPath(), displayed.get(i));
+      }
+      return displayed;
+    }
+    return areDisplayed(elements);
+  }
+
+  @Override
+  public List<Boolean> awaitNotDisplayed(List<? extends IInteractiveElement> elements,
+      Duration timeout) {
+    if (isRecording()) {
+      List<Boolean> notDisplayed = live.awaitNotDisplayed(elements, timeout);
+      for (int i = 0; i < elements.size(); i++) {
+        state.displayed.put(elements.get(i).getLocatorsPath(), !notDisplayed.get(i));
+      }
+      return notDisplayed;
+    }
+    return areNotDisplayed(elements);
+  }
+
+  @Override
+  public Optional<Duration> waitTimeout(IInteractiveElement element) {
+    return live.waitTimeout(element);
+  }
+
+  @Override
+  public boolean awaitDisplayed(IInteractiveElement element) {
+    if (isRecording()) {
+      boolean displayed = live.awaitDisplayed(element);
+      state.displayed.put(element.getLocatorsPath(), displayed);
+      return displayed;
+    }
+    return captured(state.displayed, element.getLocatorsPath());
+  }
+
+  @Override
+  public boolean awaitNotDisplayed(IInteractiveElement element) {
+    if (isRecording()) {
+      boolean notDisplayed = live.awaitNotDisplayed(element);
+      state.displayed.put(element.getLocatorsPath(), !notDisplayed);
+      return notDisplayed;
+    }
+    return !captured(state.displayed, element.getLocatorsPath());
+  }
+
+  @Override
+  public Map<String, String> awaitValues(Map<String, ? extends IInteractiveElement> elements,
+      Map<String, String> expectedValues, Duration timeout) {
+    if (isRecording()) {
+      Map<String, String> mismatches = live.awaitValues(elements, expectedValues, timeout);
+      elements.forEach((elementId, element) -> state.values.put(element.getLocatorsPath(),
+          mismatches.containsKey(elementId) ? mismatches.get(elementId)
+              : expectedValues.get(elementId)));
+      return mismatches;
+    }
+    Map<String, String> mismatches = new LinkedHashMap<>();
+    readValues(elements).forEach((elementId, actualValue) -> {
+      if (!Objects.equals(actualValue, expectedValues.get(elementId))) {
+        mismatches.put(elementId, actualValue);
+      }
+    });
+    return mismatches;
+  }
+
+  @Override
+  public Map<String, List<String>> readColumns(Table table, Collection<String> columnNames) {
+    String tableKey = "table:" + table.getLocatorsPath() + "#";
+    if (isRecording()) {
+      Map<String, List<String>> columns = live.readColumns(table, columnNames);
+      columns.forEach((columnName, values) ->
+          state.lists.put(tableKey + columnName, new ArrayList<>(values)));
+      return columns;
+    }
+    Map<String, List<String>> columns = new LinkedHashMap<>();
+    columnNames.forEach(columnName ->
+        columns.put(columnName, captured(state.lists, tableKey + columnName)));
+    return columns;
+  }
+
+  @Override
+  public List<Map<String, String>> readAll(IndexedContainer<?> container, Set<String> keys) {
+    String key = container.getLocatorsPath() + "#" + new TreeSet<>(keys);
+    if (isRecording()) {
+      List<Map<String, String>> rows = live.readAll(container, keys);
+      List<Map<String, String>> copy = new ArrayList<>();
+      rows.forEach(row -> copy.add(new LinkedHashMap<>(row)));
+      state.rows.put(key, copy);
+      return rows;
+    }
+    return captured(state.rows, key);
+  }
+
+  @Override
+  public Stream<String> streamValues(Column<?> column) {
+    return streamValues("column:" + locatorsPath(column, column.getName()),
+        () -> live.streamValues(column));
+  }
+
+  @Override
+  public Stream<String> streamValues(IndexedElement<?> element) {
+    return streamValues("indexed:" + locatorsPath(element, element.getName()),
+        () -> live.streamValues(element));
+  }
+
+  /**
+   * Columns and indexed elements expose their locators path only if they are interactive
+   * elements, the others are told apart by their class and name.
+   */
+  private static String locatorsPath(Object element, String name) {
+    return element instanceof IInteractiveElement
+        ? ((IInteractiveElement) element).getLocatorsPath()
+        : element.getClass().getName() + "#" + name;
+  }
+
+  /**
+   * The captured state never changes, so results cached while replaying stay valid.
+   */
+  @Override
+  public long domVersion() {
+    return isRecording() ? live.domVersion() : 0;
+  }
+
+  /**
+   * Fingerprints are computed from the captured values, so their reads can be replayed.
+   */
+  @Override
+  public Fingerprint fingerprint(Map<String, ? extends IInteractiveElement> elements) {
+    return Fingerprint.ofValues(readValues(elements));
+  }
+
+  @Override
+  public Fingerprint fingerprint(IndexedContainer<?> container, Set<String> keys) {
+    return Fingerprint.ofRows(readAll(container, keys));
+  }
+
+  @Override
+  public Fingerprint fingerprint(Column<?> column) {
+    try (Stream<String> values = streamValues(column)) {
+      return Fingerprint.ofColumn(column.getName(), values.collect(Collectors.toList()));
+    }
+  }
+
+  @Override
+  public Fingerprint fingerprint(Table table, Collection<String> columnNames) {
+    return Fingerprint.ofColumns(readColumns(table, columnNames));
+  }
+
+  @Override
+  public Map<Integer, String> findUnsorted(Column<?> column, ColumnOrder order, int limit) {
+    try (Stream<String> values = streamValues(column)) {
+      return ColumnAggregates.unsorted(values, order, limit);
+    }
+  }
+
+  @Override
+  public Map<Integer, String> findDuplicates(Column<?> column, int limit) {
+    try (Stream<String> values = streamValues(column)) {
+      return ColumnAggregates.duplicates(values, limit);
+    }
+  }
+
+  @Override
+  public Map<Integer, String> findNotMatching(Column<?> column, String regex, int limit) {
+    try (Stream<String> values = streamValues(column)) {
+      return ColumnAggregates.notMatching(values, regex, limit);
+    }
+  }
+
+  @Override
+  public ColumnStatistics statistics(Column<?> column, Locale locale, int limit) {
+    try (Stream<String> values = streamValues(column)) {
+      return ColumnAggregates.statistics(values, locale, limit);
+    }
+  }
+
+  private Stream<String> streamValues(String key, Supplier<Stream<String>> liveValues) {
+    if (isRecording()) {
+      return Stream.of(key).flatMap(ignored -> {
+        List<String> values;
+        try (Stream<String> stream = liveValues.get()) {
+          values = stream.collect(Collectors.toList());
+        }
+        state.lists.put(key, values);
+        return values.stream();
+      });
+    }
+    return Stream.of(key).flatMap(ignored -> captured(state.lists, key).stream());
+  }
+
+  private void checkRecording() {
+    if (!isRecording()) {
+      throw new IllegalStateException("The probe replays a captured state and cannot capture");
+    }
+  }
+
+  private static <V> V captured(Map<String, V> captured, String key) {
+    if (!captured.containsKey(key)) {
+      throw new IllegalStateException(key + " has not been captured");
+    }
+    return captured.get(key);
+  }
+
+  /**
+   * Saved as JSON by field. A loaded state is only replayed, so it is never written concurrently.
+   */
+  private static final class CapturedState {
+
+    private final Map<String, Boolean> displayed =
+        Collections.synchronizedMap(new HashMap<>());
+    private final Map<String, String> values =
+        Collections.synchronizedMap(new HashMap<>());
+    private final Map<String, ElementSnapshot> snapshots =
+        Collections.synchronizedMap(new HashMap<>());
+    private final Map<String, List<String>> lists =
+        Collections.synchronizedMap(new HashMap<>());
+    private final Map<String, List<Map<String, String>>> rows =
+        Collections.synchronizedMap(new HashMap<>());
+  }
+
+  /**
+   * Keeps Jackson out of the probe itself, so it is loaded only to save or load a state.
+   */
+  private static final class Json {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+        .setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
+        .registerModule(new SimpleModule()
+            .addDeserializer(ElementSnapshot.class, new SnapshotDeserializer()));
+  }
+
+  /**
+   * Rebuilds a snapshot with only the fields it was saved with.
+   */
+  private static final class SnapshotDeserializer extends StdDeserializer<ElementSnapshot> {
+
+    private static final long serialVersionUID = 1L;
+
+    private SnapshotDeserializer() {
+      super(ElementSnapshot.class);
+    }
+
+    @Override
+    public ElementSnapshot deserialize(JsonParser parser, DeserializationContext context)
+        throws IOException {
+      JsonNode node = parser.readValueAsTree();
+      ElementSnapshot.Builder builder = ElementSnapshot.builder();
+      for (JsonNode field : node.path("fields")) {
+        switch (field(parser, field.asText())) {
+          case DISPLAYED:
+            builder.displayed(node.path("displayed").asBoolean());
+            break;
+          case ENABLED:
+            builder.enabled(node.path("enabled").asBoolean());
+            break;
+          case SELECTED:
+            builder.selected(node.path("selected").asBoolean());
+            break;
+          case VALUE:
+            builder.value(text(node.get("value")));
+            break;
+          case TEXT:
+            builder.text(text(node.get("text")));
+            break;
+          case FULL_TEXT:
+            builder.fullText(text(node.get("fullText")));
+            break;
+          default:
+            builder.tagName(text(node.get("tagName")));
+        }
+      }
+      readMap(node.path("attributes"), builder::attribute);
+      readMap(node.path("cssValues"), builder::cssValue);
+      return builder.build();
+    }
+
+    private static ElementSnapshot.Field field(JsonParser parser, String name)
+        throws JsonMappingException {
+      try {
+        return ElementSnapshot.Field.valueOf(name);
+      } catch (IllegalArgumentException ex) {
+        throw JsonMappingException.from(parser, "Unknown snapshot field " + name, ex);
+      }
+    }
+
+    private static void readMap(JsonNode node, BiConsumer<String, String> consumer) {
+      node.fields().forEachRemaining(
+          entry -> consumer.accept(entry.getKey(), text(entry.getValue())));
+    }
+
+    private static String text(JsonNode node) {
+      return node == null || node.isNull() ? null : node.asText();
+    }
+  }
+
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mishaninss.arma.assertions;
+
+import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.text.ParsePosition;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * One pass computations over column values used by the default methods of {@link ArmaProbe}.
+ * Every computation stops as soon as it has found the requested number of offending rows. Rows
+ * are 1-based.
+ */
+final class ColumnAggregates {
+
+  private static final Pattern SPACES = Pattern.compile("[\\s\\u00A0]+");
+
+  private ColumnAggregates() {
+    // empty
+  }
+
+  static Map<Integer, String> unsorted(Stream<String> values, ColumnOrder order, int limit) {
+    Map<Integer, String> offenders = new LinkedHashMap<>();
+    Iterator<String> iterator = values.iterator();
+    NumberParser parser = order.isNumeric() ? new NumberParser(order.getNumberLocale()) : null;
+    Comparable<Object> previous = null;
+    for (int row = 1; iterator.hasNext() && offenders.size() < limit; row++) {
+      String value = iterator.next();
+      Comparable<Object> key = sortKey(value, order, parser);
+      if (key == null) {
+        offenders.put(row, value);
+        continue;
+      }
+      if (previous != null) {
+        int comparison = previous.compareTo(key);
+        if (order.isDescending() ? comparison < 0 : comparison > 0) {
+          offenders.put(row, value);
+        }
+      }
+      previous = key;
+    }
+    return offenders;
+  }
+
+  static Map<Integer, String> duplicates(Stream<String> values, int limit) {
+    Map<Integer, String> offenders = new LinkedHashMap<>();
+    Map<String, Integer> firstRows = new HashMap<>();
+    Iterator<String> iterator = values.iterator();
+    for (int row = 1; iterator.hasNext() && offenders.size() < limit; row++) {
+      String value = iterator.next();
+      Integer firstRow = firstRows.putIfAbsent(value, row);
+      if (firstRow != null) {
+        offenders.putIfAbsent(firstRow, value);
+        if (offenders.size() < limit) {
+          offenders.put(row, value);
+        }
+      }
+    }
+    return offenders;
+  }
+
+  static Map<Integer, String> notMatching(Stream<String> values, String regex, int limit) {
+    Pattern pattern = Pattern.compile(regex);
+    Map<Integer, String> offenders = new LinkedHashMap<>();
+    Iterator<String> iterator = values.iterator();
+    for (int row = 1; iterator.hasNext() && offenders.size() < limit; row++) {
+      String value = iterator.next();
+      if (value == null || !pattern.matcher(value).matches()) {
+        offenders.put(row, value);
+      }
+    }
+    return offenders;
+  }
+
+  static ColumnStatistics statistics(Stream<String> values, Locale locale, int limit) {
+    Map<Integer, String> nonNumeric = new LinkedHashMap<>();
+    int count = 0;
+    BigDecimal sum = BigDecimal.ZERO;
+    BigDecimal min = null;
+    BigDecimal max = null;
+    NumberParser parser = new NumberParser(locale);
+    Iterator<String> iterator = values.iterator();
+    for (int row = 1; iterator.hasNext(); row++) {
+      String value = iterator.next();
+      BigDecimal number = parser.parse(value);
+      if (number == null) {
+        if (nonNumeric.size() < limit) {
+          nonNumeric.put(row, value);
+        }
+        continue;
+      }
+      count++;
+      sum = sum.add(number);
+      min = min == null || number.compareTo(min) < 0 ? number : min;
+      max = max == null || number.compareTo(max) > 0 ? number : max;
+    }
+    return new ColumnStatistics(count, sum, min, max, nonNumeric);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Comparable<Object> sortKey(String value, ColumnOrder order, NumberParser parser) {
+    if (parser != null) {
+      return (Comparable<Object>) (Comparable<?>) parser.parse(value);
+    }
+    if (value == null) {
+      return null;
+    }
+    return (Comparable<Object>) (Comparable<?>) (order.isIgnoreCase()
+        ? value.toLowerCase(Locale.ROOT) : value);
+  }
+
+  /**
+   * Parses decimal numbers with the number format of a locale, e.g. {@code 1,234.5} in English and
+   * {@code 1 234,5} in Russian. A value must be a number as a whole, surrounding whitespace aside.
+   * If the grouping separator of the locale is a space, any whitespace is accepted in its place,
+   * since pages use plain and no-break spaces alike. Not thread safe.
+   */
+  static final class NumberParser {
+
+    private final DecimalFormat format;
+    private final String spaceGrouping;
+
+    NumberParser(Locale locale) {
+      format = (DecimalFormat) NumberFormat.getNumberInstance(locale);
+      format.setParseBigDecimal(true);
+      char grouping = format.getDecimalFormatSymbols().getGroupingSeparator();
+      spaceGrouping = Character.isSpaceChar(grouping) ? String.valueOf(grouping) : null;
+    }
+
+    /**
+     * @return the number, or null if the value is not a number
+     */
+    BigDecimal parse(String value) {
+      if (value == null) {
+        return null;
+      }
+      String number = value.strip();
+      if (spaceGrouping != null) {
+        number = SPACES.matcher(number).replaceAll(spaceGrouping);
+      }
+      ParsePosition position = new ParsePosition(0);
+      Number parsed = format.parse(number, position);
+      return parsed instanceof BigDecimal && position.getIndex() == number.length()
+          ? (BigDecimal) parsed : null;
+    }
+  }
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mishaninss.arma.assertions;
+
+import com.github.mishaninss.arma.utils.Preconditions;
+import java.util.Locale;
+
+/**
+ * Expected order of column values for {@link AbstractColumnAssert#isSorted(ColumnOrder)}, e.g.
+ * {@code ColumnOrder.descending().numeric()}. Values are compared as text by default. Numeric
+ * order parses values as decimal numbers in the number format of a locale, by default the one
+ * configured with {@link ArmaAssertionsConfig#setNumberLocale(Locale)}. Equal neighbour values
+ * never break the order.
+ */
+public final class ColumnOrder {
+
+  private final boolean descending;
+  private final Locale numberLocale;
+  private final boolean ignoreCase;
+
+  private ColumnOrder(boolean descending, Locale numberLocale, boolean ignoreCase) {
+    this.descending = descending;
+    this.numberLocale = numberLocale;
+    this.ignoreCase = ignoreCase;
+  }
+
+  public static ColumnOrder ascending() {
+    return new ColumnOrder(false, null, false);
+  }
+
+  public static ColumnOrder descending() {
+    return new ColumnOrder(true, null, false);
+  }
+
+  /**
+   * @return the same order comparing values as numbers in the configured number format
+   */
+  public ColumnOrder numeric() {
+    return numeric(ArmaAssertionsConfig.getNumberLocale());
+  }
+
+  /**
+   * @param locale locale of the number format of the values
+   * @return the same order comparing values as numbers in the number format of the locale
+   */
+  public ColumnOrder numeric(Locale locale) {
+    Preconditions.checkNotNull(locale, "locale");
+    return new ColumnOrder(descending, locale, ignoreCase);
+  }
+
+  /**
+   * @return the same order comparing text values ignoring case
+   */
+  public ColumnOrder ignoringCase() {
+    return new ColumnOrder(descending, numberLocale, true);
+  }
+
+  public boolean isDescending() {
+    return descending;
+  }
+
+  public boolean isNumeric() {
+    return numberLocale != null;
+  }
+
+  /**
+   * @return locale of the number format of a numeric order, null if the order is not numeric
+   */
+  public Locale getNumberLocale() {
+    return numberLocale;
+  }
+
+  public boolean isIgnoreCase() {
+    return ignoreCase;
+  }
+
+  @Override
+  public String toString() {
+    return (descending ? "descending" : "ascending")
+        + (isNumeric() ? ", numeric (" + numberLocale.toLanguageTag() + ")" : "")
+        + (ignoreCase ? ", ignoring case" : "");
+  }
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mishaninss.arma.assertions;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Numeric aggregates of a column computed in one pass over its cells. Values which are not
+ * numbers are skipped by the aggregates and reported separately.
+ */
+public final class ColumnStatistics {
+
+  private final int count;
+  private final BigDecimal sum;
+  private final BigDecimal min;
+  private final BigDecimal max;
+  private final Map<Integer, String> nonNumeric;
+
+  /**
+   * @param count number of numeric values
+   * @param sum sum of numeric values
+   * @param min the least numeric value, null if there are none
+   * @param max the greatest numeric value, null if there are none
+   * @param nonNumeric first values which are not numbers keyed by 1-based row index
+   */
+  public ColumnStatistics(int count, BigDecimal sum, BigDecimal min, BigDecimal max,
+      Map<Integer, String> nonNumeric) {
+    this.count = count;
+    this.sum = sum;
+    this.min = min;
+    this.max = max;
+    this.nonNumeric = Collections.unmodifiableMap(new LinkedHashMap<>(nonNumeric));
+  }
+
+  public int getCount() {
+    return count;
+  }
+
+  public BigDecimal getSum() {
+    return sum;
+  }
+
+  public BigDecimal getMin() {
+    return min;
+  }
+
+  public BigDecimal getMax() {
+    return max;
+  }
+
+  public Map<Integer, String> getNonNumeric() {
+    return nonNumeric;
+  }
+
+  @Override
+  public String toString() {
+    return "ColumnStatistics{count=" + count + ", sum=" + sum + ", min=" + min + ", max=" + max
+        + ", nonNumeric=" + nonNumeric + '}';
+  }
+
+}
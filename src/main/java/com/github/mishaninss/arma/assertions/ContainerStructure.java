@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.mishaninss.arma.assertions;
+
+import com.github.mishaninss.arma.html.containers.ArmaContainer;
+import com.github.mishaninss.arma.html.elements.ArmaElement;
+import com.github.mishaninss.arma.html.interfaces.IInteractiveElement;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Caches the flattened structure of containers. Page objects do not change their structure at
+ * runtime and are usually singletons, so the deep element list of a container and the list of its
+ * nested containers are built only once. Nested containers are the containers held by fields of
+ * the page object class, fields declared by {@link ArmaContainer} itself are not considered.
+ * <p>
+ * The cached elements are held weakly, so the cache does not keep a container reachable through
+ * its own elements. The list is rebuilt if one of them has been collected, and the whole cache can
+ * be dropped with {@link ArmaAssertionsConfig#clearContainerStructures()}.
+ */
+final class ContainerStructure {
+
+  private static final Map<ArmaContainer, List<WeakReference<IInteractiveElement>>> DEEP_ELEMENTS =
+      Collections.synchronizedMap(new WeakHashMap<>());
+  private static final Map<ArmaContainer, List<WeakReference<ArmaContainer>>> NESTED =
+      Collections.synchronizedMap(new WeakHashMap<>());
+
+  private ContainerStructure() {
+    // empty
+  }
+
+  /**
+   * @return all non optional elements of the container and its nested containers
+   */
+  static List<IInteractiveElement> deepNotOptionalElements(ArmaContainer container) {
+    List<IInteractiveElement> elements = dereference(DEEP_ELEMENTS.get(container));
+    if (elements == null) {
+      elements = Collections.unmodifiableList(
+          notOptional(container.deepGetNotOptionalElements()));
+      DEEP_ELEMENTS.put(container, elements.stream()
+          .map(WeakReference::new)
+          .collect(Collectors.toList()));
+    }
+    return elements;
+  }
+
+  /**
+   * @return containers held by fields of the page object class of the given container
+   */
+  static List<ArmaContainer> nestedContainers(ArmaContainer container) {
+    List<ArmaContainer> nested = dereference(NESTED.get(container));
+    if (nested == null) {
+      nested = Collections.unmodifiableList(findNested(container));
+      NESTED.put(container, nested.stream()
+          .map(WeakReference::new)
+          .collect(Collectors.toList()));
+    }
+    return nested;
+  }
+
+  static List<IInteractiveElement> notOptional(
+      Collection<? extends IInteractiveElement> elements) {
+    return elements.stream()
+        .filter(element -> element instanceof ArmaElement && !element.isOptional())
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Drops the cached structure of all containers.
+   */
+  static void clear() {
+    DEEP_ELEMENTS.clear();
+    NESTED.clear();
+  }
+
+  private static List<ArmaContainer> findNested(ArmaContainer container) {
+    List<ArmaContainer> nested = new ArrayList<>();
+    for (Class<?> type = container.getClass(); type != null && type != ArmaContainer.class
+        && type != Object.class; type = type.getSuperclass()) {
+      for (Field field : type.getDeclaredFields()) {
+        if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()
+            || !ArmaContainer.class.isAssignableFrom(field.getType())) {
+          continue;
+        }
+        Object value = read(field, container);
+        if (value != null && value != container && !nested.contains(value)) {
+          nested.add((ArmaContainer) value);
+        }
+      }
+    }
+    return nested;
+  }
+
+  /**
+   * @return value of the field, or null if it cannot be made accessible
+   */
+  private static Object read(Field field, Object target) {
+    try {
+      field.setAccessible(true);
+      return field.get(target);
+    } catch (IllegalAccessException | RuntimeException ex) {
+      return null;
+    }
+  }
+
+  /**
+   * @return the referenced elements, or null if the list is not cached or one of them is collected
+   */
+  private static <T> List<T> dereference(List<WeakReference<T>> references) {
+    if (references == null) {
+      return null;
+    }
+    List<T> elements = new ArrayList<>(references.size());
+    for (WeakReference<T> reference : references) {
+      T element = reference.get();
+      if (element == null) {
+        return null;
+      }
+      elements.add(element);
+    }
+    return Collections.unmodifiableList(elements);
+  }
+
+}
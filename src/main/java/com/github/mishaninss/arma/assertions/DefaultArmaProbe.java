@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.mishaninss.arma.assertions;
+
+import com.github.mishaninss.arma.html.containers.table.Column;
+import com.github.mishaninss.arma.html.interfaces.IInteractiveElement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import org.apache.commons.collections4.CollectionUtils;
+
+/**
+ * {@link ArmaProbe} that reads every element through its own API, as implemented by the default
+ * methods of the interface. Only groups of visibility checks are reduced here, to one call per
+ * distinct page element.
+ * <p>
+ * This module has no access to the driver, so reading a group with a single script is left to
+ * driver specific probes. They should extend this class and override the methods they can serve
+ * in bulk: {@link #readValues(Map)} and {@link #snapshots(List)} for values and element state,
+ * {@link #awaitDisplayed(List, java.time.Duration)} and {@link #awaitValues(Map, Map,
+ * java.time.Duration)} for waits, the {@code fingerprint} methods for fingerprints computed in the
+ * page and {@link #statistics(Column, java.util.Locale, int)} with the other column checks for
+ * aggregates.
+ */
+public class DefaultArmaProbe implements ArmaProbe {
+
+  /**
+   * Elements with the same locators path stand for the same page element, so the group is checked
+   * with one visibility call per distinct page element.
+   */
+  @Override
+  public List<Boolean> areDisplayed(List<? extends IInteractiveElement> elements) {
+    return checkOnce(elements, element -> element.isDisplayed(false));
+  }
+
+  /**
+   * The negative check of a group, one non waiting visibility call per distinct page element. The
+   * waits of {@link #awaitNotDisplayed(List, java.time.Duration)} poll this check, so elements
+   * which are gone are not looked for again.
+   */
+  @Override
+  public List<Boolean> areNotDisplayed(List<? extends IInteractiveElement> elements) {
+    return checkOnce(elements, element -> !element.isDisplayed(false));
+  }
+
+  /**
+   * The generic column API can only read a whole column, so the search of the column itself is
+   * used instead of streaming its values.
+   */
+  @Override
+  public boolean containsValue(Column<?> column, String value) {
+    return CollectionUtils.isNotEmpty(column.findRows(value));
+  }
+
+  private static List<Boolean> checkOnce(List<? extends IInteractiveElement> elements,
+      Predicate<IInteractiveElement> check) {
+    Map<String, Boolean> checked = new HashMap<>();
+    List<Boolean> flags = new ArrayList<>(elements.size());
+    for (IInteractiveElement element : elements) {
+      String locatorsPath = element.getLocatorsPath();
+      flags.add(locatorsPath == null ? check.test(element)
+          : checked.computeIfAbsent(locatorsPath, path -> check.test(element)));
+    }
+    return flags;
+  }
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.mishaninss.arma.assertions;
+
+import com.github.mishaninss.arma.html.elements.ArmaElement;
+import com.github.mishaninss.arma.html.elements.interfaces.ISelectable;
+
+/**
+ * Reads element snapshots through the API of every element, one element call per requested
+ * field. Used by the default methods of {@link ArmaProbe}.
+ */
+final class ElementReads {
+
+  private ElementReads() {
+    // empty
+  }
+
+  /**
+   * Reads every requested field with its own element call. If a read fails and the element is not
+   * displayed, the element is considered missing.
+   */
+  static ElementSnapshot snapshot(SnapshotRequest request) {
+    ArmaElement element = request.getElement();
+    ElementSnapshot.Builder builder = ElementSnapshot.builder();
+    try {
+      for (ElementSnapshot.Field field : request.getFields()) {
+        readField(element, field, builder);
+      }
+      request.getAttributes().forEach(
+          attribute -> builder.attribute(attribute, element.getAttribute(attribute)));
+      request.getCssValues().forEach(
+          cssValue -> builder.cssValue(cssValue, element.read().cssValue(cssValue)));
+    } catch (RuntimeException ex) {
+      if (element.isDisplayed(false)) {
+        throw ex;
+      }
+      return ElementSnapshot.missing(request);
+    }
+    return builder.build();
+  }
+
+  private static void readField(ArmaElement element, ElementSnapshot.Field field,
+      ElementSnapshot.Builder builder) {
+    switch (field) {
+      case DISPLAYED:
+        builder.displayed(element.isDisplayed(false));
+        break;
+      case ENABLED:
+        builder.enabled(element.isEnabled());
+        break;
+      case SELECTED:
+        builder.selected(element instanceof ISelectable && ((ISelectable) element).isSelected());
+        break;
+      case VALUE:
+        builder.value(element.readValue());
+        break;
+      case TEXT:
+        builder.text(element.read().text());
+        break;
+      case FULL_TEXT:
+        builder.fullText(element.read().fullText());
+        break;
+      default:
+        builder.tagName(element.read().tagName());
+    }
+  }
+
+}
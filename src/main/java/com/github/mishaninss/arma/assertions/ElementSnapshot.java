@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.mishaninss.arma.assertions;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable state of an element read at one moment of time. A snapshot holds only the fields,
+ * attributes and css values that were requested when it was taken, see {@link #getFields()}.
+ */
+public final class ElementSnapshot implements Serializable {
+
+  private static final long serialVersionUID = 2L;
+
+  /**
+   * Fields of an element state which can be requested in a snapshot.
+   */
+  public enum Field {
+    DISPLAYED, ENABLED, SELECTED, VALUE, TEXT, FULL_TEXT, TAG_NAME
+  }
+
+  private final Set<Field> fields;
+  private final boolean displayed;
+  private final boolean enabled;
+  private final boolean selected;
+  private final String value;
+  private final String text;
+  private final String fullText;
+  private final String tagName;
+  private final Map<String, String> attributes;
+  private final Map<String, String> cssValues;
+
+  private ElementSnapshot(Builder builder) {
+    this.fields = Collections.unmodifiableSet(builder.fields.isEmpty()
+        ? EnumSet.noneOf(Field.class) : EnumSet.copyOf(builder.fields));
+    this.displayed = builder.displayed;
+    this.enabled = builder.enabled;
+    this.selected = builder.selected;
+    this.value = builder.value;
+    this.text = builder.text;
+    this.fullText = builder.fullText;
+    this.tagName = builder.tagName;
+    this.attributes = Collections.unmodifiableMap(new LinkedHashMap<>(builder.attributes));
+    this.cssValues = Collections.unmodifiableMap(new LinkedHashMap<>(builder.cssValues));
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Returns the snapshot of an element which is missing on the page: it is not displayed and all
+   * the requested values are null.
+   *
+   * @param request the request to answer
+   * @return snapshot with all the requested fields, attributes and css values
+   */
+  public static ElementSnapshot missing(SnapshotRequest request) {
+    Builder builder = builder();
+    request.getFields().forEach(field -> builder.fields.add(field));
+    request.getAttributes().forEach(attribute -> builder.attribute(attribute, null));
+    request.getCssValues().forEach(cssValue -> builder.cssValue(cssValue, null));
+    return builder.build();
+  }
+
+  /**
+   * Combines two snapshots of one element, the values of {@code next} win.
+   */
+  static ElementSnapshot merge(ElementSnapshot previous, ElementSnapshot next) {
+    Builder builder = builder();
+    builder.copy(previous);
+    builder.copy(next);
+    return builder.build();
+  }
+
+  /**
+   * @return the fields which have been read into this snapshot
+   */
+  public Set<Field> getFields() {
+    return fields;
+  }
+
+  public boolean has(Field field) {
+    return fields.contains(field);
+  }
+
+  /**
+   * @param request the request to check
+   * @return true if this snapshot holds all the fields, attributes and css values of the request
+   */
+  public boolean covers(SnapshotRequest request) {
+    return fields.containsAll(request.getFields())
+        && attributes.keySet().containsAll(request.getAttributes())
+        && cssValues.keySet().containsAll(request.getCssValues());
+  }
+
+  public boolean isDisplayed() {
+    return displayed;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public boolean isSelected() {
+    return selected;
+  }
+
+  public String getValue() {
+    return value;
+  }
+
+  public String getText() {
+    return text;
+  }
+
+  public String getFullText() {
+    return fullText;
+  }
+
+  public String getTagName() {
+    return tagName;
+  }
+
+  public Map<String, String> getAttributes() {
+    return attributes;
+  }
+
+  public Map<String, String> getCssValues() {
+    return cssValues;
+  }
+
+  public boolean hasAttribute(String attribute) {
+    return attributes.containsKey(attribute);
+  }
+
+  public String getAttribute(String attribute) {
+    return attributes.get(attribute);
+  }
+
+  public boolean hasCssValue(String cssValue) {
+    return cssValues.containsKey(cssValue);
+  }
+
+  public String getCssValue(String cssValue) {
+    return cssValues.get(cssValue);
+  }
+
+  @Override
+  public String toString() {
+    return "ElementSnapshot{fields=" + fields + ", displayed=" + displayed + ", enabled="
+        + enabled + ", selected=" + selected + ", value='" + value + "', text='" + text
+        + "', fullText='" + fullText + "', tagName='" + tagName + "', attributes=" + attributes
+        + ", cssValues=" + cssValues + '}';
+  }
+
+  public static final class Builder {
+
+    private final Set<Field> fields = EnumSet.noneOf(Field.class);
+    private boolean displayed;
+    private boolean enabled;
+    private boolean selected;
+    private String value;
+    private String text;
+    private String fullText;
+    private String tagName;
+    private final Map<String, String> attributes = new LinkedHashMap<>();
+    private final Map<String, String> cssValues = new LinkedHashMap<>();
+
+    private Builder() {
+      // use ElementSnapshot.builder()
+    }
+
+    public Builder displayed(boolean displayed) {
+      this.displayed = displayed;
+      this.fields.add(Field.DISPLAYED);
+      return this;
+    }
+
+    public Builder enabled(boolean enabled) {
+      this.enabled = enabled;
+      this.fields.add(Field.ENABLED);
+      return this;
+    }
+
+    public Builder selected(boolean selected) {
+      this.selected = selected;
+      this.fields.add(Field.SELECTED);
+      return this;
+    }
+
+    public Builder value(String value) {
+      this.value = value;
+      this.fields.add(Field.VALUE);
+      return this;
+    }
+
+    public Builder text(String text) {
+      this.text = text;
+      this.fields.add(Field.TEXT);
+      return this;
+    }
+
+    public Builder fullText(String fullText) {
+      this.fullText = fullText;
+      this.fields.add(Field.FULL_TEXT);
+      return this;
+    }
+
+    public Builder tagName(String tagName) {
+      this.tagName = tagName;
+      this.fields.add(Field.TAG_NAME);
+      return this;
+    }
+
+    public Builder attribute(String attribute, String value) {
+      this.attributes.put(attribute, value);
+      return this;
+    }
+
+    public Builder cssValue(String cssValue, String value) {
+      this.cssValues.put(cssValue, value);
+      return this;
+    }
+
+    private void copy(ElementSnapshot snapshot) {
+      snapshot.fields.forEach(field -> {
+        switch (field) {
+          case DISPLAYED:
+            displayed(snapshot.displayed);
+            break;
+          case ENABLED:
+            enabled(snapshot.enabled);
+            break;
+          case SELECTED:
+            selected(snapshot.selected);
+            break;
+          case VALUE:
+            value(snapshot.value);
+            break;
+          case TEXT:
+            text(snapshot.text);
+            break;
+          case FULL_TEXT:
+            fullText(snapshot.fullText);
+            break;
+          default:
+            tagName(snapshot.tagName);
+        }
+      });
+      attributes.putAll(snapshot.attributes);
+      cssValues.putAll(snapshot.cssValues);
+    }
+
+    public ElementSnapshot build() {
+      return new ElementSnapshot(this);
+    }
+  }
+
+}
@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.mishaninss.arma.assertions;
+
+import com.github.mishaninss.arma.html.containers.ArmaContainer;
+import com.github.mishaninss.arma.html.interfaces.IInteractiveElement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Waits for a group of elements with one deadline shared by the whole group. The wait itself is
+ * delegated to the configured {@link ArmaProbe}, which may block on the page until the condition
+ * holds. The polling implementations used by the default methods of the probe check all pending
+ * elements with a single probe call on every tick.
+ * <p>
+ * The deadline is the longest own timeout of the elements, unless a timeout is set in {@link
+ * ArmaAssertionsConfig}. If the own timeouts are unknown, the pending elements are waited for with
+ * their own waits one at a time. All of them have been pending on the page while the first own wait
+ * ran, so once an own wait fails the rest are only checked once more.
+ */
+final class ElementsWait {
+
+  private static final Duration MIN_PAUSE = Duration.ofMillis(50);
+  private static final Duration MAX_PAUSE = Duration.ofSeconds(1);
+
+  private ElementsWait() {
+    // empty
+  }
+
+  /**
+   * @return the timeout set in {@link ArmaAssertionsConfig}, or else the longest own timeout of the
+   *     given elements, or {@code null} if some of the own timeouts are unknown
+   */
+  static Duration waitTimeout(List<? extends IInteractiveElement> elements) {
+    Optional<Duration> configured = ArmaAssertionsConfig.getWaitTimeout();
+    if (configured.isPresent()) {
+      return configured.get();
+    }
+    ArmaProbe probe = ArmaAssertionsConfig.getProbe();
+    Duration longest = Duration.ZERO;
+    for (IInteractiveElement element : elements) {
+      Optional<Duration> own = probe.waitTimeout(element);
+      if (!own.isPresent()) {
+        return null;
+      }
+      longest = own.get().compareTo(longest) > 0 ? own.get() : longest;
+    }
+    return longest;
+  }
+
+  /**
+   * Waits until all the given elements are displayed or the timeout expires.
+   *
+   * @param timeout the time to wait, {@code null} to use the own waits of the elements
+   * @return elements which have not been displayed before the deadline
+   */
+  static <E extends IInteractiveElement> List<E> awaitDisplayed(List<E> elements,
+      Duration timeout) {
+    ArmaProbe probe = ArmaAssertionsConfig.getProbe();
+    if (timeout == null) {
+      return awaitEach(elements, probe::awaitDisplayed, ElementsWait::notDisplayed);
+    }
+    return rejected(elements, probe.awaitDisplayed(elements, timeout));
+  }
+
+  /**
+   * Checks all the given elements once.
+   *
+   * @return elements which are not displayed
+   */
+  static <E extends IInteractiveElement> List<E> notDisplayed(List<E> elements) {
+    return rejected(elements, ArmaAssertionsConfig.getProbe().areDisplayed(elements));
+  }
+
+  /**
+   * Waits until all the given elements are hidden or absent, or the timeout expires.
+   *
+   * @param timeout the time to wait, {@code null} to use the own waits of the elements
+   * @return elements which are still displayed at the deadline
+   */
+  static <E extends IInteractiveElement> List<E> awaitNotDisplayed(List<E> elements,
+      Duration timeout) {
+    ArmaProbe probe = ArmaAssertionsConfig.getProbe();
+    if (timeout == null) {
+      return awaitEach(elements, probe::awaitNotDisplayed, ElementsWait::displayed);
+    }
+    return rejected(elements, probe.awaitNotDisplayed(elements, timeout));
+  }
+
+  /**
+   * Checks all the given elements once with the negative probe.
+   *
+   * @return elements which are displayed
+   */
+  static <E extends IInteractiveElement> List<E> displayed(List<E> elements) {
+    return rejected(elements, ArmaAssertionsConfig.getProbe().areNotDisplayed(elements));
+  }
+
+  /**
+   * Waits until all the given containers are displayed or the timeout expires. Containers are not
+   * served by the probe, so every pending container is checked on its own on every tick. A zero
+   * timeout checks every container once.
+   *
+   * @param timeout the time to wait, {@code null} to use the own waits of the containers
+   * @return containers which have not been displayed before the deadline
+   */
+  static List<ArmaContainer> awaitContainersDisplayed(List<ArmaContainer> containers,
+      Duration timeout) {
+    if (timeout == null) {
+      return awaitEach(containers, container -> container.isDisplayed(true),
+          pending -> pending.stream().filter(container -> !container.isDisplayed(false))
+              .collect(Collectors.toList()));
+    }
+    Deadline deadline = Deadline.after(timeout);
+    List<ArmaContainer> pending = new ArrayList<>(containers);
+    while (true) {
+      pending.removeIf(container -> container.isDisplayed(false));
+      if (pending.isEmpty() || deadline.isExpired()
+          || !deadline.sleep(ArmaAssertionsConfig.getPollInterval())) {
+        return pending;
+      }
+    }
+  }
+
+  /**
+   * Waits until values of the given elements match the expected ones or the timeout expires.
+   *
+   * @return the last read values of the elements which have not matched before the deadline
+   */
+  static Map<String, String> awaitValues(Map<String, ? extends IInteractiveElement> elements,
+      Map<String, String> expectedValues, Duration timeout) {
+    return ArmaAssertionsConfig.getProbe().awaitValues(elements, expectedValues, timeout);
+  }
+
+  /**
+   * Polls {@link ArmaProbe#areDisplayed(List)} until all the elements are displayed or the timeout
+   * expires. Elements which have been displayed once are not checked again.
+   */
+  static List<Boolean> pollDisplayed(ArmaProbe probe,
+      List<? extends IInteractiveElement> elements, Duration timeout) {
+    return poll(elements, timeout, probe::areDisplayed);
+  }
+
+  /**
+   * Polls {@link ArmaProbe#areNotDisplayed(List)} until all the elements are hidden or the timeout
+   * expires. Elements which have been hidden once are not checked again.
+   */
+  static List<Boolean> pollNotDisplayed(ArmaProbe probe,
+      List<? extends IInteractiveElement> elements, Duration timeout) {
+    return poll(elements, timeout, probe::areNotDisplayed);
+  }
+
+  /**
+   * Re-reads values of the given elements until they match the expected ones or the timeout
+   * expires. Elements whose values have matched once are not read again. The pause between reads
+   * grows while nothing changes.
+   *
+   * @return the last read values of the elements which have not matched before the deadline
+   */
+  static Map<String, String> pollValues(ArmaProbe probe,
+      Map<String, ? extends IInteractiveElement> elements, Map<String, String> expectedValues,
+      Duration timeout) {
+    Duration pollInterval = ArmaAssertionsConfig.getPollInterval();
+    Backoff backoff = new Backoff(MIN_PAUSE.compareTo(pollInterval) < 0 ? MIN_PAUSE : pollInterval,
+        MAX_PAUSE.compareTo(pollInterval) > 0 ? MAX_PAUSE : pollInterval);
+    Deadline deadline = Deadline.after(timeout);
+    Map<String, IInteractiveElement> pending = new LinkedHashMap<>(elements);
+    Map<String, String> mismatches = new LinkedHashMap<>();
+    while (true) {
+      int pendingBefore = pending.size();
+      mismatches.clear();
+      probe.readValues(pending).forEach((elementId, actualValue) -> {
+        if (Objects.equals(actualValue, expectedValues.get(elementId))) {
+          pending.remove(elementId);
+        } else {
+          mismatches.put(elementId, actualValue);
+        }
+      });
+      if (pending.isEmpty() || deadline.isExpired()
+          || !deadline.sleep(backoff.next(pending.size() < pendingBefore))) {
+        return mismatches;
+      }
+    }
+  }
+
+  /**
+   * Waits for the pending items with their own waits one at a time, re-checking the rest after
+   * every successful wait.
+   *
+   * @param ownWait the own wait of an item, true if the condition holds
+   * @param rejected a single check of a group, returns the items which do not match
+   * @return items which do not match
+   */
+  private static <E> List<E> awaitEach(List<E> items, Predicate<E> ownWait,
+      Function<List<E>, List<E>> rejected) {
+    List<E> pending = rejected.apply(items);
+    while (!pending.isEmpty()) {
+      E first = pending.get(0);
+      List<E> rest = pending.subList(1, pending.size());
+      if (!ownWait.test(first)) {
+        List<E> failed = new ArrayList<>(pending.size());
+        failed.add(first);
+        failed.addAll(rest.isEmpty() ? rest : rejected.apply(rest));
+        return failed;
+      }
+      pending = rest.isEmpty() ? Collections.emptyList() : rejected.apply(rest);
+    }
+    return pending;
+  }
+
+  private static List<Boolean> poll(List<? extends IInteractiveElement> elements,
+      Duration timeout, Function<List<IInteractiveElement>, List<Boolean>> check) {
+    Duration pollInterval = ArmaAssertionsConfig.getPollInterval();
+    Deadline deadline = Deadline.after(timeout);
+    List<Boolean> flags = new ArrayList<>(Collections.nCopies(elements.size(), Boolean.FALSE));
+    List<Integer> pending = IntStream.range(0, elements.size()).boxed()
+        .collect(Collectors.toList());
+    while (true) {
+      List<IInteractiveElement> checked = new ArrayList<>(pending.size());
+      pending.forEach(index -> checked.add(elements.get(index)));
+      pending = rejected(pending, flags, check.apply(checked));
+      if (pending.isEmpty() || deadline.isExpired() || !deadline.sleep(pollInterval)) {
+        return flags;
+      }
+    }
+  }
+
+  private static List<Integer> rejected(List<Integer> pending, List<Boolean> flags,
+      List<Boolean> accepted) {
+    List<Integer> rejected = new ArrayList<>();
+    for (int i = 0; i < pending.size(); i++) {
+      if (Boolean.TRUE.equals(accepted.get(i))) {
+        flags.set(pending.get(i), Boolean.TRUE);
+      } else {
+        rejected.add(pending.get(i));
+      }
+    }
+    return rejected;
+  }
+
+  private static <E> List<E> rejected(List<E> elements, List<Boolean> accepted) {
+    List<E> rejected = new ArrayList<>();
+    for (int i = 0; i < elements.size(); i++) {
+      if (!Boolean.TRUE.equals(accepted.get(i))) {
+        rejected.add(elements.get(i));
+      }
+    }
+    return rejected;
+  }
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.mishaninss.arma.assertions;
+
+import com.github.mishaninss.arma.utils.Preconditions;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Fingerprint of content read by an {@link ArmaProbe}, see {@link Fingerprints}. Keeps the rows the
+ * fingerprint was computed from, so a failed {@code matchesFingerprint} check reports them without
+ * reading the content again. A probe computing the fingerprint in the page transfers only the
+ * hash, then the rows are unknown.
+ */
+public final class Fingerprint {
+
+  private final String value;
+  private final List<Map<String, String>> rows;
+
+  private Fingerprint(String value, List<Map<String, String>> rows) {
+    this.value = value;
+    this.rows = rows;
+  }
+
+  /**
+   * @param rows rows of field values
+   * @return the fingerprint of the rows, keeping the rows
+   */
+  public static Fingerprint ofRows(List<Map<String, String>> rows) {
+    Preconditions.checkNotNull(rows, "rows");
+    return new Fingerprint(Fingerprints.ofRows(rows), Collections.unmodifiableList(rows));
+  }
+
+  /**
+   * @param name name of the column
+   * @param values values of the column in row order
+   * @return the fingerprint of the column, keeping its rows
+   */
+  public static Fingerprint ofColumn(String name, List<String> values) {
+    return ofRows(Fingerprints.columnRows(name, values));
+  }
+
+  /**
+   * @param columns values of several columns in row order keyed by column name
+   * @return the fingerprint of the table formed by the columns, keeping its rows
+   */
+  public static Fingerprint ofColumns(Map<String, List<String>> columns) {
+    return ofRows(Fingerprints.columnsRows(columns));
+  }
+
+  /**
+   * @param values values of elements keyed by element id
+   * @return the fingerprint of the values, keeping them as a single row
+   */
+  public static Fingerprint ofValues(Map<String, String> values) {
+    return ofRows(Fingerprints.valuesRows(values));
+  }
+
+  /**
+   * @param value a fingerprint computed without transferring the content, e.g. in the page
+   * @return the fingerprint without rows
+   */
+  public static Fingerprint ofHash(String value) {
+    Preconditions.checkNotBlank(value, "value");
+    return new Fingerprint(value, null);
+  }
+
+  /**
+   * @return the lowercase hex SHA-256 of the canonical form of the content
+   */
+  public String getValue() {
+    return value;
+  }
+
+  /**
+   * @return the rows the fingerprint was computed from, empty if only the hash was transferred
+   */
+  public Optional<List<Map<String, String>>> getRows() {
+    return Optional.ofNullable(rows);
+  }
+
+  @Override
+  public String toString() {
+    return value;
+  }
+
+}
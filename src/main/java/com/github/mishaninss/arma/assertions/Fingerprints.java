@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mishaninss.arma.assertions;
+
+import com.github.mishaninss.arma.data.DataObject;
+import com.github.mishaninss.arma.html.containers.ArmaContainer;
+import com.github.mishaninss.arma.html.containers.IndexedContainer;
+import com.github.mishaninss.arma.html.containers.table.Column;
+import com.github.mishaninss.arma.html.containers.table.Table;
+import com.github.mishaninss.arma.html.interfaces.IInteractiveElement;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Content fingerprints used by {@code matchesFingerprint} assertions, and helpers to record them
+ * from a known good page.
+ * <p>
+ * A fingerprint is the lowercase hex SHA-256 of the UTF-8 canonical form of the content. Content
+ * is a list of rows, each row is a map of field names to values:
+ * <ul>
+ * <li>a value is normalized with {@link StringUtils#normalizeSpace(String)}, null is treated as an
+ * empty string</li>
+ * <li>fields of a row are sorted by name and written as {@code name=value}, separated by
+ * {@code U+001F}; a backslash, {@code =}, {@code U+001F} or {@code U+001E} in a name or a value
+ * is escaped with a backslash</li>
+ * <li>every row is terminated by {@code U+001E}</li>
+ * </ul>
+ * A column is a list of rows with a single field named by the column, container values are a
+ * single row keyed by element ids. Probes computing fingerprints in the page must produce the same
+ * canonical form.
+ */
+public final class Fingerprints {
+
+  private static final char FIELD_SEPARATOR = '\u001F';
+  private static final char ROW_SEPARATOR = '\u001E';
+
+  private Fingerprints() {
+    // empty
+  }
+
+  /**
+   * @param rows rows of field values
+   * @return the fingerprint of the rows
+   */
+  public static String ofRows(List<Map<String, String>> rows) {
+    StringBuilder canonical = new StringBuilder();
+    for (Map<String, String> row : rows) {
+      boolean first = true;
+      for (Map.Entry<String, String> field : new TreeMap<>(row).entrySet()) {
+        if (!first) {
+          canonical.append(FIELD_SEPARATOR);
+        }
+        first = false;
+        appendEscaped(canonical, field.getKey());
+        canonical.append('=');
+        appendEscaped(canonical,
+            StringUtils.defaultString(StringUtils.normalizeSpace(field.getValue())));
+      }
+      canonical.append(ROW_SEPARATOR);
+    }
+    return sha256(canonical.toString());
+  }
+
+  /**
+   * @param name name of the column
+   * @param values values of the column in row order
+   * @return the fingerprint of the column
+   */
+  public static String ofColumn(String name, List<String> values) {
+    return ofRows(columnRows(name, values));
+  }
+
+  /**
+   * @param columns values of several columns in row order keyed by column name
+   * @return the fingerprint of the table formed by the columns
+   */
+  public static String ofColumns(Map<String, List<String>> columns) {
+    return ofRows(columnsRows(columns));
+  }
+
+  /**
+   * @param values values of elements keyed by element id
+   * @return the fingerprint of the values
+   */
+  public static String ofValues(Map<String, String> values) {
+    return ofRows(valuesRows(values));
+  }
+
+  /**
+   * Records the fingerprint of values of the given container elements.
+   */
+  public static String record(ArmaContainer container, Collection<String> elementIds) {
+    return ArmaAssertionsConfig.getProbe().fingerprint(elements(container, elementIds)).getValue();
+  }
+
+  /**
+   * Records the fingerprint of values of all non optional elements of the container.
+   */
+  public static String record(ArmaContainer container) {
+    return record(container, elementIds(container));
+  }
+
+  /**
+   * Records the fingerprint of the given fields of all containers of an indexed container.
+   */
+  public static String record(IndexedContainer<?> container, Collection<String> fields) {
+    return ArmaAssertionsConfig.getProbe().fingerprint(container, sanitize(fields)).getValue();
+  }
+
+  /**
+   * Records the fingerprint of a column.
+   */
+  public static String record(Column<?> column) {
+    return ArmaAssertionsConfig.getProbe().fingerprint(column).getValue();
+  }
+
+  /**
+   * Records the fingerprint of the given table columns.
+   */
+  public static String record(Table table, Collection<String> columnNames) {
+    return ArmaAssertionsConfig.getProbe().fingerprint(table, columnNames).getValue();
+  }
+
+  /**
+   * @return rows of a column, each with a single field named by the column
+   */
+  static List<Map<String, String>> columnRows(String name, List<String> values) {
+    List<Map<String, String>> rows = new ArrayList<>(values.size());
+    values.forEach(value -> {
+      Map<String, String> row = new LinkedHashMap<>();
+      row.put(name, value);
+      rows.add(row);
+    });
+    return rows;
+  }
+
+  /**
+   * @return rows of a table formed by the columns, missing cells are null
+   */
+  static List<Map<String, String>> columnsRows(Map<String, List<String>> columns) {
+    int rowsCount = columns.values().stream().mapToInt(List::size).max().orElse(0);
+    List<Map<String, String>> rows = new ArrayList<>(rowsCount);
+    for (int i = 0; i < rowsCount; i++) {
+      Map<String, String> row = new LinkedHashMap<>();
+      int index = i;
+      columns.forEach((name, values) -> row.put(name, index < values.size() ? values.get(index)
+          : null));
+      rows.add(row);
+    }
+    return rows;
+  }
+
+  /**
+   * @return a single row of values keyed by element id
+   */
+  static List<Map<String, String>> valuesRows(Map<String, String> values) {
+    List<Map<String, String>> rows = new ArrayList<>(1);
+    rows.add(values);
+    return rows;
+  }
+
+  static Map<String, IInteractiveElement> elements(ArmaContainer container,
+      Collection<String> elementIds) {
+    Map<String, IInteractiveElement> elements = new LinkedHashMap<>();
+    elementIds.forEach(elementId -> elements.put(elementId, container.getElement(elementId)));
+    return elements;
+  }
+
+  static List<String> elementIds(ArmaContainer container) {
+    return container.getElements().entrySet().stream()
+        .filter(entry -> !entry.getValue().isOptional())
+        .map(Map.Entry::getKey)
+        .collect(Collectors.toList());
+  }
+
+  static LinkedHashSet<String> sanitize(Collection<String> fields) {
+    return fields.stream().map(DataObject::sanitizeElementId)
+        .collect(Collectors.toCollection(LinkedHashSet::new));
+  }
+
+  private static void appendEscaped(StringBuilder canonical, String text) {
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (c == '\\' || c == '=' || c == FIELD_SEPARATOR || c == ROW_SEPARATOR) {
+        canonical.append('\\');
+      }
+      canonical.append(c);
+    }
+  }
+
+  private static String sha256(String canonical) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256")
+          .digest(canonical.getBytes(StandardCharsets.UTF_8));
+      StringBuilder hex = new StringBuilder(digest.length * 2);
+      for (byte b : digest) {
+        hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+      }
+      return hex.toString();
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException("SHA-256 is not supported", ex);
+    }
+  }
+
+}
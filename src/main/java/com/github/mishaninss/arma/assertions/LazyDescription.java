@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.mishaninss.arma.assertions;
+
+import java.util.function.Supplier;
+import org.apache.commons.lang3.StringUtils;
+import org.assertj.core.api.WritableAssertionInfo;
+import org.assertj.core.description.Description;
+
+/**
+ * Assertion description that is rendered only when it is actually needed, i.e. when an assertion
+ * fails. The rendered text is cached.
+ */
+final class LazyDescription extends Description {
+
+  private final Supplier<String> supplier;
+  private String value;
+
+  private LazyDescription(Supplier<String> supplier) {
+    this.supplier = supplier;
+  }
+
+  static LazyDescription of(Supplier<String> supplier) {
+    return new LazyDescription(supplier);
+  }
+
+  /**
+   * Checks whether the given assertion has no description yet without rendering a lazy one.
+   */
+  static boolean isBlank(WritableAssertionInfo info) {
+    Description description = info.description();
+    if (description == null) {
+      return true;
+    }
+    return !(description instanceof LazyDescription) && StringUtils.isBlank(description.value());
+  }
+
+  @Override
+  public String value() {
+    if (value == null) {
+      value = StringUtils.defaultString(supplier.get());
+    }
+    return value;
+  }
+
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.mishaninss.arma.assertions;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Compares rows read from an indexed container with expected rows as multisets. Every row is hashed
+ * once, so the comparison is linear in the number of rows.
+ */
+final class RowsMatcher {
+
+  private final List<Map<String, String>> missing;
+  private final List<Map<String, String>> unexpected;
+
+  private RowsMatcher(List<Map<String, String>> missing, List<Map<String, String>> unexpected) {
+    this.missing = missing;
+    this.unexpected = unexpected;
+  }
+
+  /**
+   * Finds expected rows which are absent among actual rows. Duplicates are ignored unless
+   * {@code countDuplicates} is set, in which case every expected row needs its own actual row.
+   * Actual rows left unmatched are reported as unexpected.
+   */
+  static RowsMatcher match(List<Map<String, String>> actual, List<Map<String, String>> expected,
+      boolean countDuplicates) {
+    Map<Map<String, String>, Integer> counts = new HashMap<>();
+    actual.forEach(row -> counts.merge(row, 1, Integer::sum));
+
+    List<Map<String, String>> missing = new ArrayList<>();
+    Set<Map<String, String>> matched = new HashSet<>();
+    for (Map<String, String> row : expected) {
+      Integer count = counts.get(row);
+      if (count == null || count == 0) {
+        if (countDuplicates || !matched.contains(row)) {
+          missing.add(row);
+        }
+      } else {
+        matched.add(row);
+        if (countDuplicates) {
+          counts.put(row, count - 1);
+        }
+      }
+    }
+
+    List<Map<String, String>> unexpected = new ArrayList<>();
+    for (Map<String, String> row : actual) {
+      Integer count = counts.get(row);
+      if (countDuplicates ? count > 0 : !matched.contains(row)) {
+        unexpected.add(row);
+        if (countDuplicates) {
+          counts.put(row, count - 1);
+        }
+      }
+    }
+    return new RowsMatcher(missing, unexpected);
+  }
+
+  /**
+   * @return index of the first row which differs, or -1 if the lists are equal
+   */
+  static int firstDifference(List<Map<String, String>> actual,
+      List<Map<String, String>> expected) {
+    for (int i = 0; i < Math.min(actual.size(), expected.size()); i++) {
+      if (!actual.get(i).equals(expected.get(i))) {
+        return i;
+      }
+    }
+    return actual.size() == expected.size() ? -1 : Math.min(actual.size(), expected.size());
+  }
+
+  /**
+   * Finds actual rows which are present among the given rows.
+   */
+  static List<Map<String, String>> found(List<Map<String, String>> actual,
+      List<Map<String, String>> rows) {
+    Set<Map<String, String>> lookup = new HashSet<>(rows);
+    List<Map<String, String>> found = new ArrayList<>();
+    actual.forEach(row -> {
+      if (lookup.contains(row)) {
+        found.add(row);
+      }
+    });
+    return found;
+  }
+
+  /**
+   * Checks whether any of the actual rows contains the expected values ignoring case. Values are
+   * compared with {@link StringUtils#equalsIgnoreCase}. Expected keys must be sanitized.
+   */
+  static boolean containsRowIgnoreCase(List<Map<String, String>> actual,
+      Map<String, String> expected) {
+    for (Map<String, String> row : actual) {
+      boolean matches = true;
+      for (Map.Entry<String, String> entry : expected.entrySet()) {
+        if (!StringUtils.equalsIgnoreCase(row.get(entry.getKey()), entry.getValue())) {
+          matches = false;
+          break;
+        }
+      }
+      if (matches) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  List<Map<String, String>> getMissing() {
+    return missing;
+  }
+
+  List<Map<String, String>> getUnexpected() {
+    return unexpected;
+  }
+
+}
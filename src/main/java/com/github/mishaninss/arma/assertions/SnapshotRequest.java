@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mishaninss.arma.assertions;
+
+import com.github.mishaninss.arma.assertions.ElementSnapshot.Field;
+import com.github.mishaninss.arma.html.elements.ArmaElement;
+import com.github.mishaninss.arma.utils.Preconditions;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Fields, attributes and css values of an element to read into an {@link ElementSnapshot}. Probes
+ * read only what is requested, so a snapshot costs no more than the checks that use it.
+ */
+public final class SnapshotRequest {
+
+  private final ArmaElement element;
+  private final Set<Field> fields;
+  private final Set<String> attributes;
+  private final Set<String> cssValues;
+
+  /**
+   * @param element the element to read
+   * @param fields fields of the element state to read
+   * @param attributes names of attributes to read
+   * @param cssValues names of css values to read
+   */
+  public SnapshotRequest(ArmaElement element, Collection<Field> fields,
+      Collection<String> attributes, Collection<String> cssValues) {
+    Preconditions.checkNotNull(element, "element");
+    this.element = element;
+    this.fields = Collections.unmodifiableSet(
+        fields.isEmpty() ? EnumSet.noneOf(Field.class) : EnumSet.copyOf(fields));
+    this.attributes = Collections.unmodifiableSet(new LinkedHashSet<>(attributes));
+    this.cssValues = Collections.unmodifiableSet(new LinkedHashSet<>(cssValues));
+  }
+
+  /**
+   * Requests all the fields of an element state without attributes and css values.
+   *
+   * @param element the element to read
+   * @return the request
+   */
+  public static SnapshotRequest allFields(ArmaElement element) {
+    return new SnapshotRequest(element, EnumSet.allOf(Field.class), Collections.emptySet(),
+        Collections.emptySet());
+  }
+
+  /**
+   * Requests a single field, attribute or css value, any of which may be null.
+   */
+  static SnapshotRequest of(ArmaElement element, Field field, String attribute,
+      String cssValue) {
+    return new SnapshotRequest(element,
+        field == null ? Collections.emptySet() : Collections.singleton(field),
+        attribute == null ? Collections.emptySet() : Collections.singleton(attribute),
+        cssValue == null ? Collections.emptySet() : Collections.singleton(cssValue));
+  }
+
+  /**
+   * @return a request of everything requested by this and the other request
+   */
+  SnapshotRequest union(SnapshotRequest other) {
+    Set<Field> allFields = EnumSet.noneOf(Field.class);
+    allFields.addAll(fields);
+    allFields.addAll(other.fields);
+    Set<String> allAttributes = new LinkedHashSet<>(attributes);
+    allAttributes.addAll(other.attributes);
+    Set<String> allCssValues = new LinkedHashSet<>(cssValues);
+    allCssValues.addAll(other.cssValues);
+    return new SnapshotRequest(element, allFields, allAttributes, allCssValues);
+  }
+
+  public ArmaElement getElement() {
+    return element;
+  }
+
+  public Set<Field> getFields() {
+    return fields;
+  }
+
+  public Set<String> getAttributes() {
+    return attributes;
+  }
+
+  public Set<String> getCssValues() {
+    return cssValues;
+  }
+
+  @Override
+  public String toString() {
+    return "SnapshotRequest{element=" + element.getLocatorsPath() + ", fields=" + fields
+        + ", attributes=" + attributes + ", cssValues=" + cssValues + '}';
+  }
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mishaninss.arma.assertions;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gate for the errors reported with the {@code fail} methods of {@link ArmaSoftAssertions}. Admits
+ * at most a fixed number of errors and truncates long messages, so a container check producing
+ * thousands of failures keeps a bounded report. Errors over the limit are only counted. Counting is
+ * atomic, the admitted errors are then stored by the soft assertions under their own lock. Errors
+ * collected by the AssertJ proxies of {@code assertThat} assertions do not pass this gate and are
+ * neither limited nor truncated.
+ */
+final class SoftErrorCollector {
+
+  private final int maxErrors;
+  private final int maxMessageLength;
+  private final AtomicInteger received = new AtomicInteger();
+
+  SoftErrorCollector(int maxErrors, int maxMessageLength) {
+    this.maxErrors = maxErrors;
+    this.maxMessageLength = maxMessageLength;
+  }
+
+  /**
+   * Counts an error.
+   *
+   * @return the error to store with its message truncated, or null if the limit is reached
+   */
+  AssertionError admit(AssertionError error) {
+    return received.incrementAndGet() <= maxErrors ? truncate(error) : null;
+  }
+
+  /**
+   * @return number of counted errors including the dropped ones
+   */
+  int count() {
+    return received.get();
+  }
+
+  /**
+   * @return number of errors which were counted but not stored
+   */
+  int dropped() {
+    return Math.max(0, received.get() - maxErrors);
+  }
+
+  int getMaxErrors() {
+    return maxErrors;
+  }
+
+  private AssertionError truncate(AssertionError error) {
+    String message = error.getMessage();
+    if (message == null || message.length() <= maxMessageLength) {
+      return error;
+    }
+    AssertionError truncated = new AssertionError(message.substring(0, maxMessageLength)
+        + String.format("... [%d more characters]", message.length() - maxMessageLength),
+        error.getCause());
+    truncated.setStackTrace(error.getStackTrace());
+    return truncated;
+  }
+
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.mishaninss.arma.assertions;
+
+import com.github.mishaninss.arma.html.containers.table.Column;
+import com.github.mishaninss.arma.html.containers.table.Table;
+import com.github.mishaninss.arma.html.interfaces.IInteractiveElement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Columnar in-memory copy of a {@link Table}. Every column is read once and indexed by cell value,
+ * so row lookups which find an exactly matching row do not touch the browser. The table may
+ * normalise values or match them partially, so a lookup without an exact match is passed to the
+ * table itself and a row is reported missing only if the table cannot find it either. Columns
+ * which were not requested up front are read on first use. Row indexes are 1-based, like the
+ * indexes returned by {@link Table#findRow}.
+ */
+public final class TableSnapshot {
+
+  private final Table table;
+  private final Map<String, List<String>> columns = new HashMap<>();
+  private final Map<String, Map<String, List<Integer>>> indexes = new HashMap<>();
+  private final Map<String, Column<IInteractiveElement>> headers = new HashMap<>();
+
+  private TableSnapshot(Table table) {
+    this.table = table;
+  }
+
+  /**
+   * Reads the given columns of the table with a single probe call.
+   *
+   * @param table the table to read
+   * @param columnNames names of the columns to read up front
+   * @return the snapshot
+   */
+  public static TableSnapshot of(Table table, Collection<String> columnNames) {
+    TableSnapshot snapshot = new TableSnapshot(table);
+    snapshot.load(columnNames);
+    return snapshot;
+  }
+
+  /**
+   * Finds a row which contains the given value in the given column: the first row with exactly
+   * this value, or else the row found by {@link Table#findRow}.
+   *
+   * @return 1-based index of the row or -1 if there is no such row
+   */
+  public int findRow(String columnName, String value) {
+    List<Integer> rows = rows(columnName, value);
+    return rows.isEmpty() ? table.findRow(columnName, value) : rows.get(0);
+  }
+
+  /**
+   * Finds a row which contains all the given values: the first row with exactly these values, or
+   * else the row found by {@link Table#findRowIndex}.
+   *
+   * @param data expected cell values keyed by column name
+   * @return 1-based index of the row or -1 if there is no such row
+   */
+  public int findRowIndex(Map<String, String> data) {
+    int index = findExactRow(data);
+    return index > 0 || data.isEmpty() ? index : table.findRowIndex(data);
+  }
+
+  /**
+   * @return cell values of the given column in row order
+   */
+  public List<String> getValues(String columnName) {
+    if (!columns.containsKey(columnName)) {
+      load(Collections.singletonList(columnName));
+    }
+    return Collections.unmodifiableList(columns.get(columnName));
+  }
+
+  /**
+   * @return the number of rows in the snapshot or -1 if no column has been read yet
+   */
+  public int getRowsCount() {
+    return columns.values().stream().mapToInt(List::size).max().orElse(-1);
+  }
+
+  /**
+   * Returns the live column with the given name. The header lookup is done only once.
+   */
+  @SuppressWarnings("unchecked")
+  public Column<IInteractiveElement> getColumn(String columnName) {
+    return headers.computeIfAbsent(columnName, table::findColumnByName);
+  }
+
+  private int findExactRow(Map<String, String> data) {
+    load(data.keySet().stream().filter(columnName -> !columns.containsKey(columnName))
+        .collect(Collectors.toList()));
+    Set<Integer> candidates = null;
+    for (Map.Entry<String, String> entry : data.entrySet()) {
+      List<Integer> rows = rows(entry.getKey(), entry.getValue());
+      if (candidates == null) {
+        candidates = new LinkedHashSet<>(rows);
+      } else {
+        candidates.retainAll(new HashSet<>(rows));
+      }
+      if (candidates.isEmpty()) {
+        return -1;
+      }
+    }
+    return candidates == null ? -1 : candidates.iterator().next();
+  }
+
+  private List<Integer> rows(String columnName, String value) {
+    if (!indexes.containsKey(columnName)) {
+      load(Collections.singletonList(columnName));
+    }
+    return indexes.get(columnName).getOrDefault(value, Collections.emptyList());
+  }
+
+  private void load(Collection<String> columnNames) {
+    if (columnNames.isEmpty()) {
+      return;
+    }
+    Map<String, List<String>> values = ArmaAssertionsConfig.getProbe()
+        .readColumns(table, columnNames);
+    values.forEach((columnName, cells) -> {
+      Map<String, List<Integer>> index = new HashMap<>();
+      for (int i = 0; i < cells.size(); i++) {
+        index.computeIfAbsent(cells.get(i), value -> new ArrayList<>()).add(i + 1);
+      }
+      columns.put(columnName, cells);
+      indexes.put(columnName, index);
+    });
+  }
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.mishaninss.arma.assertions.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event emitted for every outermost assertion method.
+ */
+@Name("com.github.mishaninss.arma.Assertion")
+@Label("Arma Assertion")
+@Category({"Arma", "Assertions"})
+@Description("Execution of an Arma UI assertion")
+@StackTrace(false)
+public class AssertionEvent extends Event {
+
+  @Label("Assertion Class")
+  String assertionClass;
+
+  @Label("Method")
+  String method;
+
+  @Label("Element")
+  @Description("Loggable name and locators of the checked element")
+  String element;
+
+  @Label("Passed")
+  boolean passed;
+
+}
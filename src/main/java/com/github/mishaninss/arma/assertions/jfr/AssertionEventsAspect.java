@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.mishaninss.arma.assertions.jfr;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+import org.aspectj.lang.annotation.Pointcut;
+import org.assertj.core.api.AbstractAssert;
+
+/**
+ * Emits {@link AssertionEvent} and {@link WaitEvent} flight recorder events. While the events are
+ * disabled in the running recording, the advices only check {@code isEnabled()}. An assertion
+ * fails if it throws or if it collects a failure into soft assertions.
+ */
+@Aspect
+public class AssertionEventsAspect {
+
+  private static final ThreadLocal<AssertionEvent> CURRENT = new ThreadLocal<>();
+
+  @Pointcut("withincode(* com.github.mishaninss.arma.assertions..*.isNotDisplayed(..))"
+      + " || withincode(* com.github.mishaninss.arma.assertions..*.awaitNotDisplayed(..))")
+  public void notDisplayedCheck() {
+    // pointcut
+  }
+
+  @Around("com.github.mishaninss.arma.assertions.AssertionPointcuts.assertionMethod()")
+  public Object recordAssertion(ProceedingJoinPoint joinPoint) throws Throwable {
+    if (CURRENT.get() != null) {
+      return joinPoint.proceed();
+    }
+    AssertionEvent event = new AssertionEvent();
+    if (!event.isEnabled()) {
+      return joinPoint.proceed();
+    }
+    CURRENT.set(event);
+    event.passed = true;
+    event.begin();
+    try {
+      return joinPoint.proceed();
+    } catch (Throwable ex) {
+      event.passed = false;
+      throw ex;
+    } finally {
+      CURRENT.remove();
+      event.end();
+      if (event.shouldCommit()) {
+        event.assertionClass = assertionClass(joinPoint.getThis().getClass());
+        event.method = joinPoint.getSignature().getName();
+        if (joinPoint.getTarget() instanceof AbstractAssert) {
+          event.element = ((AbstractAssert<?, ?>) joinPoint.getTarget())
+              .getWritableAssertionInfo().descriptionText();
+        }
+        event.commit();
+      }
+    }
+  }
+
+  @Before("com.github.mishaninss.arma.assertions.AssertionPointcuts.softFailure()")
+  public void recordSoftFailure() {
+    AssertionEvent event = CURRENT.get();
+    if (event != null) {
+      event.passed = false;
+    }
+  }
+
+  @Around(value = "com.github.mishaninss.arma.assertions.AssertionPointcuts.driverWait(shouldWait)"
+      + " && !notDisplayedCheck()", argNames = "shouldWait")
+  public Object recordDisplayedWait(ProceedingJoinPoint joinPoint, boolean shouldWait)
+      throws Throwable {
+    return shouldWait ? recordDriverWait(joinPoint, true) : joinPoint.proceed();
+  }
+
+  @Around(value = "com.github.mishaninss.arma.assertions.AssertionPointcuts.driverWait(shouldWait)"
+      + " && notDisplayedCheck()", argNames = "shouldWait")
+  public Object recordNotDisplayedWait(ProceedingJoinPoint joinPoint, boolean shouldWait)
+      throws Throwable {
+    return shouldWait ? recordDriverWait(joinPoint, false) : joinPoint.proceed();
+  }
+
+  @Around("com.github.mishaninss.arma.assertions.AssertionPointcuts.containerWait()")
+  public Object recordContainerWait(ProceedingJoinPoint joinPoint) throws Throwable {
+    WaitEvent event = new WaitEvent();
+    if (!event.isEnabled()) {
+      return joinPoint.proceed();
+    }
+    event.begin();
+    Object result = joinPoint.proceed();
+    event.end();
+    if (event.shouldCommit()) {
+      event.operation = "ElementsWait." + joinPoint.getSignature().getName();
+      event.requestedTimeout = -1;
+      for (Object arg : joinPoint.getArgs()) {
+        if (arg instanceof Duration) {
+          event.requestedTimeout = ((Duration) arg).toMillis();
+        }
+      }
+      event.satisfied = result instanceof Collection ? ((Collection<?>) result).isEmpty()
+          : result instanceof Map && ((Map<?, ?>) result).isEmpty();
+      event.commit();
+    }
+    return result;
+  }
+
+  private static Object recordDriverWait(ProceedingJoinPoint joinPoint, boolean expectedDisplayed)
+      throws Throwable {
+    WaitEvent event = new WaitEvent();
+    if (!event.isEnabled()) {
+      return joinPoint.proceed();
+    }
+    event.begin();
+    Object result = joinPoint.proceed();
+    event.end();
+    if (event.shouldCommit()) {
+      event.operation = joinPoint.getSignature().getDeclaringType().getSimpleName() + "."
+          + joinPoint.getSignature().getName();
+      event.requestedTimeout = -1;
+      event.satisfied = Boolean.valueOf(expectedDisplayed).equals(result);
+      event.commit();
+    }
+    return result;
+  }
+
+  /**
+   * @return name of the concrete assertion class, soft assertion proxies are named after the
+   *     class they extend
+   */
+  private static String assertionClass(Class<?> type) {
+    Class<?> assertionType = type;
+    while (assertionType.getName().contains("$ByteBuddy$")) {
+      assertionType = assertionType.getSuperclass();
+    }
+    return assertionType.getSimpleName();
+  }
+
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.mishaninss.arma.assertions.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event emitted for every wait performed by an assertion. The event duration is
+ * the actual wait time.
+ */
+@Name("com.github.mishaninss.arma.AssertionWait")
+@Label("Arma Assertion Wait")
+@Category({"Arma", "Assertions"})
+@Description("Wait performed by an Arma UI assertion")
+@StackTrace(false)
+public class WaitEvent extends Event {
+
+  @Label("Wait")
+  @Description("Waiting operation, e.g. a driver wait of an element or a container wide wait")
+  String operation;
+
+  @Label("Requested Timeout")
+  @Description("Timeout requested by the assertion, -1 if the driver default timeout is used")
+  @Timespan(Timespan.MILLISECONDS)
+  long requestedTimeout;
+
+  @Label("Satisfied")
+  @Description("Whether the awaited condition held before the timeout")
+  boolean satisfied;
+
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.mishaninss.arma.assertions.metrics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counters of assertion executions. A thread counts the driver calls and waits of its running
+ * assertion method and merges them into the shared statistics when the outermost method exits, so
+ * nothing is kept per thread between assertions. Measurements are collected by
+ * {@link AssertionMetricsAspect} only while metrics are enabled, either with
+ * {@link #setEnabled(boolean)} or the {@code arma.assertions.metrics} system property.
+ * <p>
+ * If the {@code arma.assertions.metrics.report} system property is set, the aggregated report is
+ * written to that file when the JVM exits. A file name ending with {@code .csv} produces CSV,
+ * anything else produces JSON.
+ */
+public final class AssertionMetrics {
+
+  private static final String REPORT_PROPERTY = "arma.assertions.metrics.report";
+
+  private static volatile boolean enabled = Boolean.getBoolean("arma.assertions.metrics");
+  private static final Map<String, MethodStats> STATS = new ConcurrentHashMap<>();
+  private static final ThreadLocal<ThreadMetrics> CURRENT = new ThreadLocal<>();
+
+  static {
+    String reportFile = System.getProperty(REPORT_PROPERTY);
+    if (reportFile != null && !reportFile.isEmpty()) {
+      Runtime.getRuntime().addShutdownHook(new Thread(() -> writeReport(Paths.get(reportFile)),
+          "arma-assertions-metrics"));
+    }
+  }
+
+  private AssertionMetrics() {
+    // empty
+  }
+
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  public static void setEnabled(boolean enabled) {
+    AssertionMetrics.enabled = enabled;
+  }
+
+  /**
+   * Marks the start of an assertion method. Nested assertion methods are accounted to the
+   * outermost one. Whether metrics are enabled is checked only for the outermost method, so a
+   * measurement started before {@link #setEnabled(boolean)} is called is always completed.
+   *
+   * @return nesting depth of the method, 1 for the outermost one, or 0 if metrics are disabled
+   *     and nothing is measured, {@link #exit(String, long, boolean)} must not be called then
+   */
+  static int enter() {
+    ThreadMetrics metrics = CURRENT.get();
+    if (metrics == null) {
+      if (!enabled) {
+        return 0;
+      }
+      metrics = new ThreadMetrics();
+      CURRENT.set(metrics);
+    }
+    return ++metrics.depth;
+  }
+
+  static void exit(String method, long durationNanos, boolean passed) {
+    ThreadMetrics metrics = CURRENT.get();
+    if (--metrics.depth > 0) {
+      return;
+    }
+    CURRENT.remove();
+    MethodStats stats = STATS.computeIfAbsent(method, MethodStats::new);
+    synchronized (stats) {
+      stats.record(durationNanos, metrics.elementCalls, metrics.waitNanos,
+          passed && !metrics.failed);
+    }
+  }
+
+  static void elementCall() {
+    ThreadMetrics metrics = CURRENT.get();
+    if (metrics != null) {
+      metrics.elementCalls++;
+    }
+  }
+
+  static void waited(long waitNanos) {
+    ThreadMetrics metrics = CURRENT.get();
+    if (metrics != null) {
+      metrics.waitNanos += waitNanos;
+    }
+  }
+
+  /**
+   * Marks the measured assertion method as failed although it did not throw, e.g. because its
+   * failure was collected by soft assertions.
+   */
+  static void failed() {
+    ThreadMetrics metrics = CURRENT.get();
+    if (metrics != null) {
+      metrics.failed = true;
+    }
+  }
+
+  /**
+   * @return a copy of the statistics per assertion method, the slowest methods first
+   */
+  public static List<MethodStats> report() {
+    List<MethodStats> report = new ArrayList<>();
+    for (MethodStats stats : STATS.values()) {
+      synchronized (stats) {
+        report.add(stats.copy());
+      }
+    }
+    report.sort(Comparator.comparingLong(MethodStats::getTotalMicros).reversed()
+        .thenComparing(MethodStats::getMethod));
+    return report;
+  }
+
+  /**
+   * Clears the statistics. Assertions running at the moment are still recorded when they exit.
+   */
+  public static void reset() {
+    STATS.clear();
+  }
+
+  public static void writeReport(Path file) {
+    try {
+      String content = file.toString().endsWith(".csv") ? toCsv(report()) : toJson(report());
+      Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Could not write assertion metrics to " + file, ex);
+    }
+  }
+
+  public static String toCsv(Collection<MethodStats> report) {
+    StringBuilder csv = new StringBuilder(
+        "method,calls,failures,totalMicros,p99Micros,maxMicros,elementCalls,waitMicros\n");
+    report.forEach(stats -> csv.append(stats.getMethod()).append(',')
+        .append(stats.getCalls()).append(',')
+        .append(stats.getFailures()).append(',')
+        .append(stats.getTotalMicros()).append(',')
+        .append(stats.getPercentileMicros(99)).append(',')
+        .append(stats.getMaxMicros()).append(',')
+        .append(stats.getElementCalls()).append(',')
+        .append(stats.getWaitMicros()).append('\n'));
+    return csv.toString();
+  }
+
+  public static String toJson(Collection<MethodStats> report) {
+    StringBuilder json = new StringBuilder("[");
+    report.forEach(stats -> {
+      if (json.length() > 1) {
+        json.append(',');
+      }
+      json.append("\n  {\"method\": \"").append(stats.getMethod())
+          .append("\", \"calls\": ").append(stats.getCalls())
+          .append(", \"failures\": ").append(stats.getFailures())
+          .append(", \"totalMicros\": ").append(stats.getTotalMicros())
+          .append(", \"p99Micros\": ").append(stats.getPercentileMicros(99))
+          .append(", \"maxMicros\": ").append(stats.getMaxMicros())
+          .append(", \"elementCalls\": ").append(stats.getElementCalls())
+          .append(", \"waitMicros\": ").append(stats.getWaitMicros())
+          .append('}');
+    });
+    return json.append("\n]\n").toString();
+  }
+
+  private static final class ThreadMetrics {
+
+    private int depth;
+    private boolean failed;
+    private long elementCalls;
+    private long waitNanos;
+  }
+
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.mishaninss.arma.assertions.metrics;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+import org.aspectj.lang.annotation.Pointcut;
+
+/**
+ * Feeds {@link AssertionMetrics} with wall time, element calls, wait time and outcome of every
+ * assertion method. An assertion method fails if it throws or if it collects a failure into soft
+ * assertions. When metrics are disabled the element and wait advices are skipped by the
+ * {@code if()} check.
+ */
+@Aspect
+public class AssertionMetricsAspect {
+
+  @Pointcut("if()")
+  public static boolean metricsEnabled() {
+    return AssertionMetrics.isEnabled();
+  }
+
+  @Pointcut("within(com.github.mishaninss.arma.assertions..*) && ("
+      + "call(* com.github.mishaninss.arma.html..*.isDisplayed(..))"
+      + " || call(* com.github.mishaninss.arma.html..*.isEnabled())"
+      + " || call(* com.github.mishaninss.arma.html..*.isSelected())"
+      + " || call(* com.github.mishaninss.arma.html..*.getAttribute(..))"
+      + " || call(* com.github.mishaninss.arma.html..*.readValue(..))"
+      + " || call(* com.github.mishaninss.arma.html..*.readValues(..))"
+      + " || call(* com.github.mishaninss.arma.html..*.readAll(..))"
+      + " || call(* com.github.mishaninss.arma.html..*.read())"
+      + " || call(* com.github.mishaninss.arma.html..*.find*(..))"
+      + " || call(* com.github.mishaninss.arma.html..*.count())"
+      + " || call(* com.github.mishaninss.arma.html..*.getRowsCount()))")
+  public void elementCall() {
+    // pointcut
+  }
+
+  @Around("com.github.mishaninss.arma.assertions.AssertionPointcuts.assertionMethod()")
+  public Object measureAssertion(ProceedingJoinPoint joinPoint) throws Throwable {
+    int depth = AssertionMetrics.enter();
+    if (depth == 0) {
+      return joinPoint.proceed();
+    }
+    if (depth > 1) {
+      return proceedNested(joinPoint);
+    }
+    String method = joinPoint.getSignature().getDeclaringType().getSimpleName() + "."
+        + joinPoint.getSignature().getName();
+    long start = System.nanoTime();
+    boolean passed = false;
+    try {
+      Object result = joinPoint.proceed();
+      passed = true;
+      return result;
+    } finally {
+      AssertionMetrics.exit(method, System.nanoTime() - start, passed);
+    }
+  }
+
+  @Before("com.github.mishaninss.arma.assertions.AssertionPointcuts.softFailure()")
+  public void countSoftFailure() {
+    AssertionMetrics.failed();
+  }
+
+  @Before("elementCall() && metricsEnabled()")
+  public void countElementCall() {
+    AssertionMetrics.elementCall();
+  }
+
+  @Around(value = "com.github.mishaninss.arma.assertions.AssertionPointcuts.driverWait(shouldWait)"
+      + " && metricsEnabled()", argNames = "shouldWait")
+  public Object measureDriverWait(ProceedingJoinPoint joinPoint, boolean shouldWait)
+      throws Throwable {
+    return shouldWait ? measureWait(joinPoint) : joinPoint.proceed();
+  }
+
+  @Around("com.github.mishaninss.arma.assertions.AssertionPointcuts.containerWait()"
+      + " && metricsEnabled()")
+  public Object measureWait(ProceedingJoinPoint joinPoint) throws Throwable {
+    long start = System.nanoTime();
+    try {
+      return joinPoint.proceed();
+    } finally {
+      AssertionMetrics.waited(System.nanoTime() - start);
+    }
+  }
+
+  private static Object proceedNested(ProceedingJoinPoint joinPoint) throws Throwable {
+    try {
+      return joinPoint.proceed();
+    } finally {
+      AssertionMetrics.exit(null, 0, true);
+    }
+  }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.mishaninss.arma.assertions.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aggregated measurements of one assertion method. Durations are kept in a log2 histogram of
+ * microseconds, which is enough to find the slowest percentile without storing every call.
+ */
+public final class MethodStats {
+
+  private static final int BUCKETS = 40;
+
+  private final String method;
+  private long calls;
+  private long failures;
+  private long totalNanos;
+  private long maxNanos;
+  private long elementCalls;
+  private long waitNanos;
+  private final long[] histogram = new long[BUCKETS];
+
+  MethodStats(String method) {
+    this.method = method;
+  }
+
+  void record(long durationNanos, long elementCalls, long waitNanos, boolean passed) {
+    calls++;
+    if (!passed) {
+      failures++;
+    }
+    totalNanos += durationNanos;
+    maxNanos = Math.max(maxNanos, durationNanos);
+    this.elementCalls += elementCalls;
+    this.waitNanos += waitNanos;
+    histogram[bucket(durationNanos)]++;
+  }
+
+  void merge(MethodStats other) {
+    calls += other.calls;
+    failures += other.failures;
+    totalNanos += other.totalNanos;
+    maxNanos = Math.max(maxNanos, other.maxNanos);
+    elementCalls += other.elementCalls;
+    waitNanos += other.waitNanos;
+    for (int i = 0; i < BUCKETS; i++) {
+      histogram[i] += other.histogram[i];
+    }
+  }
+
+  MethodStats copy() {
+    MethodStats copy = new MethodStats(method);
+    copy.merge(this);
+    return copy;
+  }
+
+  public String getMethod() {
+    return method;
+  }
+
+  public long getCalls() {
+    return calls;
+  }
+
+  public long getFailures() {
+    return failures;
+  }
+
+  public long getTotalMicros() {
+    return TimeUnit.NANOSECONDS.toMicros(totalNanos);
+  }
+
+  public long getMaxMicros() {
+    return TimeUnit.NANOSECONDS.toMicros(maxNanos);
+  }
+
+  public long getElementCalls() {
+    return elementCalls;
+  }
+
+  public long getWaitMicros() {
+    return TimeUnit.NANOSECONDS.toMicros(waitNanos);
+  }
+
+  /**
+   * Returns the upper bound of the given percentile of call durations in microseconds.
+   *
+   * @param percentile percentile between 0 and 100
+   */
+  public long getPercentileMicros(double percentile) {
+    long threshold = (long) Math.ceil(calls * percentile / 100);
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += histogram[i];
+      if (seen >= threshold && seen > 0) {
+        return Math.min(1L << i, getMaxMicros());
+      }
+    }
+    return getMaxMicros();
+  }
+
+  private static int bucket(long durationNanos) {
+    long micros = Math.max(1, TimeUnit.NANOSECONDS.toMicros(durationNanos));
+    return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros - 1));
+  }
+
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mishaninss.arma.assertions.spec;
+
+import com.github.mishaninss.arma.assertions.ArmaSoftAssertions;
+
+/**
+ * Base class of plans which keeps the spec source for failure messages.
+ */
+abstract class AbstractPlan implements VerificationPlan {
+
+  private final String source;
+
+  AbstractPlan(String source) {
+    this.source = source;
+  }
+
+  /**
+   * @throws IllegalArgumentException if the condition is false
+   */
+  void require(boolean condition, Expectation expectation, String message) {
+    if (!condition) {
+      throw new IllegalArgumentException(source + ":" + expectation.line + ": " + message);
+    }
+  }
+
+  /**
+   * Collects the failure of an expectation. Collected failures are thrown at once by
+   * {@link ArmaSoftAssertions#assertAll()} at the end of {@link #verify()}.
+   */
+  void fail(ArmaSoftAssertions softAssertions, Expectation expectation, String message) {
+    softAssertions.fail(source + ":" + expectation.line + ": " + message);
+  }
+
+}
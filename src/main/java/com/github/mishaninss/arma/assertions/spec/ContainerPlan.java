@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mishaninss.arma.assertions.spec;
+
+import com.github.mishaninss.arma.assertions.ArmaAssertionsConfig;
+import com.github.mishaninss.arma.assertions.ArmaProbe;
+import com.github.mishaninss.arma.assertions.ArmaSoftAssertions;
+import com.github.mishaninss.arma.assertions.ElementSnapshot;
+import com.github.mishaninss.arma.assertions.SnapshotRequest;
+import com.github.mishaninss.arma.html.containers.ArmaContainer;
+import com.github.mishaninss.arma.html.elements.ArmaElement;
+import com.github.mishaninss.arma.html.interfaces.IInteractiveElement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Plan of element expectations of an {@link ArmaContainer}. Visibility of all elements expected
+ * to be displayed is read with one probe call, visibility of hidden ones with another, values of
+ * all elements with a third. Attributes of all elements are read with one snapshots call, each
+ * element only for the attributes its expectations mention.
+ */
+final class ContainerPlan extends AbstractPlan {
+
+  private final List<Expectation> expectations;
+  private final Map<String, IInteractiveElement> displayed = new LinkedHashMap<>();
+  private final Map<String, IInteractiveElement> hidden = new LinkedHashMap<>();
+  private final Map<String, IInteractiveElement> values = new LinkedHashMap<>();
+  private final Map<String, Set<String>> attributes = new LinkedHashMap<>();
+  private final Map<String, IInteractiveElement> elements = new HashMap<>();
+
+  ContainerPlan(String source, List<Expectation> expectations, ArmaContainer container) {
+    super(source);
+    this.expectations = expectations;
+    for (Expectation expectation : expectations) {
+      require(expectation.element != null, expectation, "element is required for a container");
+      require(expectation.count == null && expectation.row == null
+          && expectation.column == null && expectation.contains == null, expectation,
+          "only displayed, value and attributes can be checked for a container element");
+      IInteractiveElement element = elements.computeIfAbsent(expectation.element,
+          container::getElement);
+      require(element != null, expectation, "container has no element " + expectation.element);
+      if (expectation.displayed != null) {
+        (expectation.displayed ? displayed : hidden).put(expectation.element, element);
+      }
+      if (expectation.value != null) {
+        values.put(expectation.element, element);
+      }
+      if (!expectation.attributes.isEmpty()) {
+        require(element instanceof ArmaElement, expectation,
+            "attributes can be checked only for an ArmaElement");
+        attributes.computeIfAbsent(expectation.element, key -> new LinkedHashSet<>())
+            .addAll(expectation.attributes.keySet());
+      }
+    }
+  }
+
+  @Override
+  public void verify() {
+    ArmaProbe probe = ArmaAssertionsConfig.getProbe();
+    Map<String, Boolean> actualDisplayed = read(displayed, probe::areDisplayed);
+    Map<String, Boolean> actualHidden = read(hidden, probe::areNotDisplayed);
+    Map<String, String> actualValues = values.isEmpty() ? Collections.emptyMap()
+        : probe.readValues(values);
+    Map<String, ElementSnapshot> snapshots = readAttributes(probe);
+
+    ArmaSoftAssertions softAssertions = new ArmaSoftAssertions();
+    for (Expectation expectation : expectations) {
+      String elementId = expectation.element;
+      if (Boolean.TRUE.equals(expectation.displayed) && !actualDisplayed.get(elementId)) {
+        fail(softAssertions, expectation, "Элемент " + elementId + " не отображается");
+      }
+      if (Boolean.FALSE.equals(expectation.displayed) && !actualHidden.get(elementId)) {
+        fail(softAssertions, expectation, "Элемент " + elementId + " отображается");
+      }
+      if (expectation.value != null
+          && !Objects.equals(expectation.value, actualValues.get(elementId))) {
+        fail(softAssertions, expectation, String.format(
+            "Значение элемента %s: ожидалось [%s], но было [%s]", elementId,
+            expectation.value, actualValues.get(elementId)));
+      }
+      expectation.attributes.forEach((name, expectedValue) -> {
+        String actualValue = snapshots.get(elementId).getAttribute(name);
+        if (!Objects.equals(expectedValue, actualValue)) {
+          fail(softAssertions, expectation, String.format(
+              "Атрибут %s элемента %s: ожидалось [%s], но было [%s]", name, elementId,
+              expectedValue, actualValue));
+        }
+      });
+    }
+    softAssertions.assertAll();
+  }
+
+  @Override
+  public int probeCalls() {
+    return (displayed.isEmpty() ? 0 : 1) + (hidden.isEmpty() ? 0 : 1)
+        + (values.isEmpty() ? 0 : 1) + (attributes.isEmpty() ? 0 : 1);
+  }
+
+  private Map<String, ElementSnapshot> readAttributes(ArmaProbe probe) {
+    if (attributes.isEmpty()) {
+      return Collections.emptyMap();
+    }
+    List<String> elementIds = new ArrayList<>(attributes.keySet());
+    List<SnapshotRequest> requests = new ArrayList<>();
+    elementIds.forEach(elementId -> requests.add(new SnapshotRequest(
+        (ArmaElement) elements.get(elementId), Collections.emptySet(), attributes.get(elementId),
+        Collections.emptySet())));
+    List<ElementSnapshot> read = probe.snapshots(requests);
+    Map<String, ElementSnapshot> snapshots = new HashMap<>();
+    for (int i = 0; i < elementIds.size(); i++) {
+      snapshots.put(elementIds.get(i), read.get(i));
+    }
+    return snapshots;
+  }
+
+  private static Map<String, Boolean> read(Map<String, IInteractiveElement> elements,
+      Function<List<IInteractiveElement>, List<Boolean>> probe) {
+    if (elements.isEmpty()) {
+      return Collections.emptyMap();
+    }
+    List<String> elementIds = new ArrayList<>(elements.keySet());
+    List<Boolean> flags = probe.apply(new ArrayList<>(elements.values()));
+    Map<String, Boolean> result = new HashMap<>();
+    for (int i = 0; i < elementIds.size(); i++) {
+      result.put(elementIds.get(i), Boolean.TRUE.equals(flags.get(i)));
+    }
+    return result;
+  }
+
+}
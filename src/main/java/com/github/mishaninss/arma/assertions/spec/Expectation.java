@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mishaninss.arma.assertions.spec;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * One entry of an {@link ExpectationSpec}. Only the fields present in the spec are set.
+ */
+final class Expectation {
+
+  final int line;
+  final String element;
+  final Boolean displayed;
+  final String value;
+  final Map<String, String> attributes;
+  final Integer count;
+  final Map<String, String> row;
+  final String column;
+  final String contains;
+
+  Expectation(int line, String element, Boolean displayed, String value,
+      Map<String, String> attributes, Integer count, Map<String, String> row, String column,
+      String contains) {
+    this.line = line;
+    this.element = element;
+    this.displayed = displayed;
+    this.value = value;
+    this.attributes = attributes == null ? Collections.emptyMap() : attributes;
+    this.count = count;
+    this.row = row;
+    this.column = column;
+    this.contains = contains;
+  }
+
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mishaninss.arma.assertions.spec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.github.mishaninss.arma.html.containers.ArmaContainer;
+import com.github.mishaninss.arma.html.containers.IndexedContainer;
+import com.github.mishaninss.arma.html.containers.table.Table;
+import com.github.mishaninss.arma.utils.Preconditions;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Expectations of a container loaded from a JSON or YAML spec. The spec is a list of
+ * expectations, e.g.
+ * <pre>
+ * - element: login
+ *   displayed: true
+ *   value: John
+ *   attributes: {placeholder: Login}
+ * - element: error
+ *   displayed: false
+ * </pre>
+ * Supported keys depend on the checked container:
+ * <ul>
+ * <li>{@link ArmaContainer}: {@code element} with {@code displayed}, {@code value} and
+ * {@code attributes}</li>
+ * <li>{@link IndexedContainer}: {@code count} and {@code row}</li>
+ * <li>{@link Table}: {@code row}, and {@code column} with {@code contains}</li>
+ * </ul>
+ * Values match the way the live assertions match them. {@code value} and {@code attributes} are
+ * compared exactly, as {@code containsValues} does. {@code row} and {@code contains} find the same
+ * rows as {@link Table#findRow}, {@link Table#findRowIndex} and {@link
+ * IndexedContainer#findContainer(Map)}.
+ * <p>
+ * A spec is compiled into a {@link VerificationPlan} for a concrete container. Failures are
+ * reported with the source and line of the expectation.
+ * <p>
+ * Specs are parsed with Jackson, which is an optional dependency: {@code jackson-databind} has to
+ * be on the classpath, and {@code jackson-dataformat-yaml} for YAML specs.
+ */
+public final class ExpectationSpec {
+
+  private static final Set<String> KEYS = new HashSet<>(Arrays.asList("element", "displayed",
+      "value", "attributes", "count", "row", "column", "contains"));
+
+  private final String source;
+  private final List<Expectation> expectations;
+
+  private ExpectationSpec(String source, List<Expectation> expectations) {
+    this.source = source;
+    this.expectations = Collections.unmodifiableList(expectations);
+  }
+
+  /**
+   * Loads a spec from a file. Files with the {@code .yml} or {@code .yaml} extension are read as
+   * YAML, other files as JSON.
+   *
+   * @param file the spec file
+   * @return the loaded spec
+   * @throws IOException if the file cannot be read or parsed
+   */
+  public static ExpectationSpec load(Path file) throws IOException {
+    return parse(file.getFileName().toString(),
+        new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Parses a spec. The format is chosen by the extension of the source name, as in
+   * {@link #load(Path)}.
+   *
+   * @param source name of the spec used in failure messages
+   * @param content the spec
+   * @return the parsed spec
+   * @throws IOException if the spec cannot be parsed
+   */
+  public static ExpectationSpec parse(String source, String content) throws IOException {
+    Preconditions.checkNotNull(source, "source");
+    Preconditions.checkNotNull(content, "content");
+    String name = source.toLowerCase(Locale.ROOT);
+    JsonFactory factory = name.endsWith(".yml") || name.endsWith(".yaml") ? new YAMLFactory()
+        : new JsonFactory();
+    ObjectMapper mapper = new ObjectMapper(factory);
+
+    List<Expectation> expectations = new ArrayList<>();
+    try (JsonParser parser = factory.createParser(content)) {
+      parser.setCodec(mapper);
+      if (parser.nextToken() != JsonToken.START_ARRAY) {
+        throw new IOException(source + ": a spec must be a list of expectations");
+      }
+      while (parser.nextToken() == JsonToken.START_OBJECT) {
+        int line = parser.getTokenLocation().getLineNr();
+        expectations.add(toExpectation(source, line, parser.readValueAsTree()));
+      }
+      if (parser.currentToken() != JsonToken.END_ARRAY) {
+        throw new IOException(source + ":" + parser.getTokenLocation().getLineNr()
+            + ": an expectation must be an object");
+      }
+    }
+    return new ExpectationSpec(source, expectations);
+  }
+
+  public String getSource() {
+    return source;
+  }
+
+  public int size() {
+    return expectations.size();
+  }
+
+  /**
+   * @param container the container to check
+   * @return the plan checking the container against this spec
+   * @throws IllegalArgumentException if the spec has expectations not supported for containers
+   */
+  public VerificationPlan compile(ArmaContainer container) {
+    Preconditions.checkNotNull(container, "container");
+    return new ContainerPlan(source, expectations, container);
+  }
+
+  /**
+   * @param container the indexed container to check
+   * @return the plan checking the indexed container against this spec
+   * @throws IllegalArgumentException if the spec has expectations not supported for indexed
+   *     containers
+   */
+  public VerificationPlan compile(IndexedContainer<?> container) {
+    Preconditions.checkNotNull(container, "container");
+    return new IndexedContainerPlan(source, expectations, container);
+  }
+
+  /**
+   * @param table the table to check
+   * @return the plan checking the table against this spec
+   * @throws IllegalArgumentException if the spec has expectations not supported for tables
+   */
+  public VerificationPlan compile(Table table) {
+    Preconditions.checkNotNull(table, "table");
+    return new TablePlan(source, expectations, table);
+  }
+
+  private static Expectation toExpectation(String source, int line, JsonNode node)
+      throws IOException {
+    Iterator<String> fieldNames = node.fieldNames();
+    while (fieldNames.hasNext()) {
+      String fieldName = fieldNames.next();
+      if (!KEYS.contains(fieldName)) {
+        throw new IOException(source + ":" + line + ": unknown key " + fieldName);
+      }
+    }
+    return new Expectation(line,
+        text(node, "element"),
+        bool(source, line, node, "displayed"),
+        text(node, "value"),
+        map(source, line, node, "attributes"),
+        integer(source, line, node, "count"),
+        map(source, line, node, "row"),
+        text(node, "column"),
+        text(node, "contains"));
+  }
+
+  private static String text(JsonNode node, String fieldName) {
+    JsonNode field = node.get(fieldName);
+    return field == null || field.isNull() ? null : field.asText();
+  }
+
+  private static Boolean bool(String source, int line, JsonNode node, String fieldName)
+      throws IOException {
+    JsonNode field = node.get(fieldName);
+    if (field == null) {
+      return null;
+    }
+    if (!field.isBoolean()) {
+      throw new IOException(source + ":" + line + ": " + fieldName + " must be true or false");
+    }
+    return field.booleanValue();
+  }
+
+  private static Integer integer(String source, int line, JsonNode node, String fieldName)
+      throws IOException {
+    JsonNode field = node.get(fieldName);
+    if (field == null) {
+      return null;
+    }
+    if (!field.isInt()) {
+      throw new IOException(source + ":" + line + ": " + fieldName + " must be an integer");
+    }
+    return field.intValue();
+  }
+
+  private static Map<String, String> map(String source, int line, JsonNode node,
+      String fieldName) throws IOException {
+    JsonNode field = node.get(fieldName);
+    if (field == null) {
+      return null;
+    }
+    if (!field.isObject()) {
+      throw new IOException(source + ":" + line + ": " + fieldName + " must be an object");
+    }
+    Map<String, String> map = new LinkedHashMap<>();
+    field.fields().forEachRemaining(entry -> map.put(entry.getKey(),
+        entry.getValue().isNull() ? null : entry.getValue().asText()));
+    return map;
+  }
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mishaninss.arma.assertions.spec;
+
+import com.github.mishaninss.arma.assertions.ArmaAssertionsConfig;
+import com.github.mishaninss.arma.assertions.ArmaSoftAssertions;
+import com.github.mishaninss.arma.data.DataObject;
+import com.github.mishaninss.arma.html.containers.IndexedContainer;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Plan of {@code count} and {@code row} expectations of an {@link IndexedContainer}. All the rows
+ * are read with one probe call covering the fields of all row expectations. A row expectation
+ * without an exactly matching row is passed to {@link IndexedContainer#findContainer(Map)}, which
+ * may normalise the values, so only rows the container cannot find are reported.
+ */
+final class IndexedContainerPlan extends AbstractPlan {
+
+  private final List<Expectation> expectations;
+  private final IndexedContainer<?> container;
+  private final Map<Expectation, Map<String, String>> rows = new LinkedHashMap<>();
+  private final Set<String> keys = new LinkedHashSet<>();
+  private final boolean countNeeded;
+
+  IndexedContainerPlan(String source, List<Expectation> expectations,
+      IndexedContainer<?> container) {
+    super(source);
+    this.expectations = expectations;
+    this.container = container;
+    boolean count = false;
+    for (Expectation expectation : expectations) {
+      require(expectation.element == null && expectation.column == null
+          && expectation.contains == null, expectation,
+          "only count and row can be checked for an indexed container");
+      require(expectation.count != null || expectation.row != null, expectation,
+          "count or row is required for an indexed container");
+      count |= expectation.count != null;
+      if (expectation.row != null) {
+        Map<String, String> row = new LinkedHashMap<>();
+        expectation.row.forEach((key, value) -> row.put(DataObject.sanitizeElementId(key), value));
+        rows.put(expectation, row);
+        keys.addAll(row.keySet());
+      }
+    }
+    countNeeded = count;
+  }
+
+  @Override
+  public void verify() {
+    int actualCount = countNeeded ? container.count() : -1;
+    List<Map<String, String>> actualRows = keys.isEmpty() ? Collections.emptyList()
+        : ArmaAssertionsConfig.getProbe().readAll(container, keys);
+
+    ArmaSoftAssertions softAssertions = new ArmaSoftAssertions();
+    for (Expectation expectation : expectations) {
+      if (expectation.count != null && expectation.count != actualCount) {
+        fail(softAssertions, expectation, String.format(
+            "Количество элементов: ожидалось [%d], но было [%d]", expectation.count,
+            actualCount));
+      }
+      Map<String, String> row = rows.get(expectation);
+      if (row != null && actualRows.stream().noneMatch(actualRow -> matches(actualRow, row))
+          && !container.findContainer(expectation.row).isPresent()) {
+        fail(softAssertions, expectation, "Не найдена запись " + row);
+      }
+    }
+    softAssertions.assertAll();
+  }
+
+  @Override
+  public int probeCalls() {
+    return (countNeeded ? 1 : 0) + (keys.isEmpty() ? 0 : 1);
+  }
+
+  private static boolean matches(Map<String, String> actualRow, Map<String, String> row) {
+    return row.entrySet().stream()
+        .allMatch(entry -> Objects.equals(entry.getValue(), actualRow.get(entry.getKey())));
+  }
+
+}
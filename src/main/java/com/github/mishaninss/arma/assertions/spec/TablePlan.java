@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mishaninss.arma.assertions.spec;
+
+import com.github.mishaninss.arma.assertions.ArmaSoftAssertions;
+import com.github.mishaninss.arma.assertions.TableSnapshot;
+import com.github.mishaninss.arma.html.containers.table.Table;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Plan of {@code row} and {@code column} expectations of a {@link Table}. All the columns
+ * mentioned in the spec are read with one probe call into a {@link TableSnapshot}. Expectations
+ * without an exactly matching row are passed to the table itself, see {@link TableSnapshot}.
+ */
+final class TablePlan extends AbstractPlan {
+
+  private final List<Expectation> expectations;
+  private final Table table;
+  private final Set<String> columns = new LinkedHashSet<>();
+
+  TablePlan(String source, List<Expectation> expectations, Table table) {
+    super(source);
+    this.expectations = expectations;
+    this.table = table;
+    for (Expectation expectation : expectations) {
+      require(expectation.element == null && expectation.count == null, expectation,
+          "only row and column can be checked for a table");
+      require(expectation.row != null || expectation.column != null && expectation.contains
+          != null, expectation, "row or column with contains is required for a table");
+      if (expectation.row != null) {
+        columns.addAll(expectation.row.keySet());
+      }
+      if (expectation.column != null) {
+        columns.add(expectation.column);
+      }
+    }
+  }
+
+  @Override
+  public void verify() {
+    TableSnapshot snapshot = TableSnapshot.of(table, columns);
+
+    ArmaSoftAssertions softAssertions = new ArmaSoftAssertions();
+    for (Expectation expectation : expectations) {
+      if (expectation.column != null
+          && snapshot.findRow(expectation.column, expectation.contains) == -1) {
+        fail(softAssertions, expectation, String.format(
+            "Колонка %s не содержит записей со значением [%s]", expectation.column,
+            expectation.contains));
+      }
+      if (expectation.row != null && snapshot.findRowIndex(expectation.row) == -1) {
+        fail(softAssertions, expectation, "Таблица не содержит записи " + expectation.row);
+      }
+    }
+    softAssertions.assertAll();
+  }
+
+  @Override
+  public int probeCalls() {
+    return columns.isEmpty() ? 0 : 1;
+  }
+
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mishaninss.arma.assertions.spec;
+
+/**
+ * Checks of an {@link ExpectationSpec} compiled for one container. The plan reads every element
+ * state at most once and groups the reads into as few probe calls as possible.
+ */
+public interface VerificationPlan {
+
+  /**
+   * Reads the state of the container and verifies all the expectations.
+   *
+   * @throws AssertionError if some expectations are not met. This is the error of
+   *     {@link org.assertj.core.api.SoftAssertions#assertAll()}, an {@code
+   *     AssertJMultipleFailuresError} if opentest4j is on the classpath and a {@link
+   *     org.assertj.core.api.SoftAssertionError} otherwise. It holds one failure per unmet
+   *     expectation, prefixed with the spec source and line, within the error limits of {@link
+   *     com.github.mishaninss.arma.assertions.ArmaSoftAssertions}
+   */
+  void verify();
+
+  /**
+   * @return number of probe calls the plan makes when all the expectations are met, not counting
+   *     calls made by the probe itself
+   */
+  int probeCalls();
+
+}
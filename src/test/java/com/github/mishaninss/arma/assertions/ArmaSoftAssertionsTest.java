@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.mishaninss.arma.assertions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class ArmaSoftAssertionsTest {
+
+  @Test
+  void storesErrorsUpToLimit() {
+    ArmaSoftAssertions softAssertions = new ArmaSoftAssertions(2, 100);
+
+    softAssertions.fail("first");
+    softAssertions.fail("second");
+    softAssertions.fail("third");
+
+    assertThat(softAssertions.errorsCollected()).extracting(ArmaSoftAssertionsTest::firstLine)
+        .containsExactly("first", "second",
+            "1 more errors were not stored, the limit is 2 errors");
+    assertThat(softAssertions.reportedCount()).isEqualTo(3);
+  }
+
+  @Test
+  void truncatesStoredMessages() {
+    ArmaSoftAssertions softAssertions = new ArmaSoftAssertions(10, 3);
+
+    softAssertions.fail("abcdef");
+
+    assertThat(softAssertions.errorsCollected()).extracting(ArmaSoftAssertionsTest::firstLine)
+        .containsExactly("abc... [3 more characters]");
+  }
+
+  @Test
+  void rejectsNonPositiveLimits() {
+    assertThatThrownBy(() -> new ArmaSoftAssertions(0, 10))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new ArmaSoftAssertions(10, 10).withFailureBudget(0, null))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void skipsChecksOverFailureBudget() {
+    ArmaSoftAssertions softAssertions = new ArmaSoftAssertions(10, 100)
+        .withFailureBudget(1, null);
+
+    assertThat(softAssertions.skipIfBudgetExceeded()).isFalse();
+    softAssertions.fail("first");
+    assertThat(softAssertions.isBudgetExceeded()).isTrue();
+    assertThat(softAssertions.skipIfBudgetExceeded()).isTrue();
+    softAssertions.skip(2);
+
+    assertThat(softAssertions.errorsCollected()).extracting(ArmaSoftAssertionsTest::firstLine)
+        .containsExactly("first", "3 checks were skipped because the failure budget was exceeded");
+  }
+
+  @Test
+  void limitsWaitsToTimeLeftInBudget() {
+    ArmaSoftAssertions unlimited = new ArmaSoftAssertions(10, 100)
+        .withFailureBudget(Integer.MAX_VALUE, null);
+    ArmaSoftAssertions limited = new ArmaSoftAssertions(10, 100)
+        .withFailureBudget(Integer.MAX_VALUE, Duration.ofSeconds(10));
+
+    assertThat(unlimited.limitWait(Duration.ofMinutes(1))).isEqualTo(Duration.ofMinutes(1));
+    assertThat(unlimited.limitWait(null)).isNull();
+    assertThat(limited.limitWait(Duration.ofSeconds(1))).isEqualTo(Duration.ofSeconds(1));
+    assertThat(limited.limitWait(Duration.ofMinutes(1))).isLessThanOrEqualTo(
+        Duration.ofSeconds(10));
+    assertThat(limited.limitWait(null)).isLessThanOrEqualTo(Duration.ofSeconds(10));
+  }
+
+  @Test
+  void throwsCollectedErrorsAtOnce() {
+    ArmaSoftAssertions softAssertions = new ArmaSoftAssertions(10, 100);
+    softAssertions.fail("first");
+    softAssertions.fail("second %s", "check");
+
+    assertThatThrownBy(softAssertions::assertAll)
+        .hasMessageContaining("first")
+        .hasMessageContaining("second check");
+  }
+
+  private static String firstLine(Throwable error) {
+    return error.getMessage().split("\n")[0];
+  }
+
+}
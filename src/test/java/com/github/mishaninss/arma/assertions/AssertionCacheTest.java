@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.mishaninss.arma.assertions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class AssertionCacheTest {
+
+  private final Object container = new Object();
+
+  @AfterEach
+  void tearDown() {
+    AssertionCache.clear();
+  }
+
+  @Test
+  void reusesResultOfSameVersion() {
+    AssertionCache.passed(container, "displayed", 7);
+
+    assertThat(AssertionCache.hasPassed(container, "displayed", 7)).isTrue();
+    assertThat(AssertionCache.hasPassed(container, "displayed", 8)).isFalse();
+    assertThat(AssertionCache.hasPassed(container, "values", 7)).isFalse();
+    assertThat(AssertionCache.hasPassed(new Object(), "displayed", 7)).isFalse();
+  }
+
+  @Test
+  void ignoresUntrackedVersions() {
+    AssertionCache.passed(container, "displayed", -1);
+
+    assertThat(AssertionCache.hasPassed(container, "displayed", -1)).isFalse();
+  }
+
+  @Test
+  void isDisabledByDefault() {
+    assertThat(AssertionCache.version(true)).isNegative();
+    assertThat(AssertionCache.version(false)).isNegative();
+  }
+
+  @Test
+  void dropsResultsOnClear() {
+    AssertionCache.passed(container, "displayed", 7);
+
+    AssertionCache.clear();
+
+    assertThat(AssertionCache.hasPassed(container, "displayed", 7)).isFalse();
+  }
+
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.mishaninss.arma.assertions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class BackoffTest {
+
+  @Test
+  void doublesPauseUpToMaximumWithoutProgress() {
+    Backoff backoff = new Backoff(Duration.ofMillis(50), Duration.ofMillis(150));
+
+    assertThat(backoff.next(false)).isEqualTo(Duration.ofMillis(50));
+    assertThat(backoff.next(false)).isEqualTo(Duration.ofMillis(100));
+    assertThat(backoff.next(false)).isEqualTo(Duration.ofMillis(150));
+    assertThat(backoff.next(false)).isEqualTo(Duration.ofMillis(150));
+  }
+
+  @Test
+  void fallsBackToMinimumOnProgress() {
+    Backoff backoff = new Backoff(Duration.ofMillis(50), Duration.ofSeconds(1));
+    backoff.next(false);
+    backoff.next(false);
+
+    assertThat(backoff.next(true)).isEqualTo(Duration.ofMillis(50));
+    assertThat(backoff.next(false)).isEqualTo(Duration.ofMillis(50));
+  }
+
+}
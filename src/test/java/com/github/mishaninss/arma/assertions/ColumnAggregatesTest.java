@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.mishaninss.arma.assertions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+class ColumnAggregatesTest {
+
+  private static final Locale RU = new Locale("ru");
+
+  @Test
+  void findsUnsortedRows() {
+    assertThat(ColumnAggregates.unsorted(Stream.of("a", "c", "b", "d"), ColumnOrder.ascending(),
+        10)).containsExactly(entry(3, "b"));
+    assertThat(ColumnAggregates.unsorted(Stream.of("c", "b", "a"), ColumnOrder.descending(), 10))
+        .isEmpty();
+    assertThat(ColumnAggregates.unsorted(Stream.of("a", "B", "c"),
+        ColumnOrder.ascending().ignoringCase(), 10)).isEmpty();
+  }
+
+  @Test
+  void comparesNumbersInLocaleFormat() {
+    assertThat(ColumnAggregates.unsorted(Stream.of("2", "10", "1 000,5"),
+        ColumnOrder.ascending().numeric(RU), 10)).isEmpty();
+    assertThat(ColumnAggregates.unsorted(Stream.of("2", "abc", "1"),
+        ColumnOrder.ascending().numeric(RU), 10))
+        .containsExactly(entry(2, "abc"), entry(3, "1"));
+  }
+
+  @Test
+  void reportsBothRowsOfDuplicate() {
+    assertThat(ColumnAggregates.duplicates(Stream.of("a", "b", "a", "c", "b"), 10))
+        .containsExactly(entry(1, "a"), entry(3, "a"), entry(2, "b"), entry(5, "b"));
+  }
+
+  @Test
+  void stopsAtLimit() {
+    assertThat(ColumnAggregates.duplicates(Stream.of("a", "a", "a", "a"), 2)).hasSize(2);
+    assertThat(ColumnAggregates.notMatching(Stream.of("x", "y", "z"), "\\d+", 2))
+        .containsExactly(entry(1, "x"), entry(2, "y"));
+  }
+
+  @Test
+  void findsValuesNotMatchingRegex() {
+    assertThat(ColumnAggregates.notMatching(Stream.of("12", "1a", null), "\\d+", 10))
+        .containsExactly(entry(2, "1a"), entry(3, null));
+  }
+
+  @Test
+  void computesStatistics() {
+    ColumnStatistics statistics = ColumnAggregates.statistics(
+        Stream.of("1\u00A0234,5", " -4 ", "n/a", "1.5", "10"), RU, 10);
+
+    assertThat(statistics.getCount()).isEqualTo(3);
+    assertThat(statistics.getSum()).isEqualByComparingTo(new BigDecimal("1240.5"));
+    assertThat(statistics.getMin()).isEqualByComparingTo(new BigDecimal("-4"));
+    assertThat(statistics.getMax()).isEqualByComparingTo(new BigDecimal("1234.5"));
+    assertThat(statistics.getNonNumeric()).containsExactly(entry(3, "n/a"), entry(4, "1.5"));
+  }
+
+  @Test
+  void parsesEnglishNumbers() {
+    ColumnAggregates.NumberParser parser = new ColumnAggregates.NumberParser(Locale.ENGLISH);
+
+    assertThat(parser.parse("1,234.5")).isEqualByComparingTo(new BigDecimal("1234.5"));
+    assertThat(parser.parse("12abc")).isNull();
+    assertThat(parser.parse(null)).isNull();
+  }
+
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.mishaninss.arma.assertions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class DeadlineTest {
+
+  @Test
+  void zeroTimeoutIsExpiredAtOnce() {
+    Deadline deadline = Deadline.after(Duration.ZERO);
+
+    assertThat(deadline.isExpired()).isTrue();
+    assertThat(deadline.remaining()).isEqualTo(Duration.ZERO);
+  }
+
+  @Test
+  void remainingTimeShrinks() {
+    Deadline deadline = Deadline.after(Duration.ofMinutes(1));
+
+    assertThat(deadline.isExpired()).isFalse();
+    assertThat(deadline.remaining()).isLessThanOrEqualTo(Duration.ofMinutes(1))
+        .isGreaterThan(Duration.ofSeconds(50));
+  }
+
+  @Test
+  void sleepsNotPastDeadline() {
+    Deadline deadline = Deadline.after(Duration.ofMillis(20));
+    long start = System.nanoTime();
+
+    assertThat(deadline.sleep(Duration.ofSeconds(10))).isTrue();
+    assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+    assertThat(deadline.remaining()).isLessThan(Duration.ofMillis(1));
+  }
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.mishaninss.arma.assertions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.github.mishaninss.arma.html.interfaces.IInteractiveElement;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class DefaultArmaProbeTest {
+
+  private final DefaultArmaProbe probe = new DefaultArmaProbe();
+
+  @Test
+  void checksSamePageElementOnce() {
+    IInteractiveElement first = element("form/login", true);
+    IInteractiveElement copy = element("form/login", false);
+    IInteractiveElement other = element("form/password", false);
+
+    assertThat(probe.areDisplayed(Arrays.asList(first, copy, other)))
+        .containsExactly(true, true, false);
+    assertThat(probe.areNotDisplayed(Arrays.asList(first, copy, other)))
+        .containsExactly(false, false, true);
+    verify(first, times(2)).isDisplayed(false);
+    verify(copy, times(0)).isDisplayed(false);
+  }
+
+  @Test
+  void checksElementsWithoutLocatorsPathSeparately() {
+    IInteractiveElement first = element(null, true);
+    IInteractiveElement second = element(null, false);
+
+    assertThat(probe.areDisplayed(Arrays.asList(first, second))).containsExactly(true, false);
+  }
+
+  private static IInteractiveElement element(String locatorsPath, boolean displayed) {
+    IInteractiveElement element = mock(IInteractiveElement.class);
+    when(element.getLocatorsPath()).thenReturn(locatorsPath);
+    when(element.isDisplayed(false)).thenReturn(displayed);
+    return element;
+  }
+
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.mishaninss.arma.assertions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.github.mishaninss.arma.html.interfaces.IInteractiveElement;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ElementsWaitTest {
+
+  private ArmaProbe probe;
+  private Optional<Duration> waitTimeout;
+  private Duration pollInterval;
+
+  @BeforeEach
+  void setUp() {
+    probe = ArmaAssertionsConfig.getProbe();
+    waitTimeout = ArmaAssertionsConfig.getWaitTimeout();
+    pollInterval = ArmaAssertionsConfig.getPollInterval();
+    ArmaAssertionsConfig.setProbe(new DefaultArmaProbe());
+    ArmaAssertionsConfig.setWaitTimeout(null);
+    ArmaAssertionsConfig.setPollInterval(Duration.ofMillis(10));
+  }
+
+  @AfterEach
+  void tearDown() {
+    ArmaAssertionsConfig.setProbe(probe);
+    ArmaAssertionsConfig.setWaitTimeout(waitTimeout.orElse(null));
+    ArmaAssertionsConfig.setPollInterval(pollInterval);
+  }
+
+  @Test
+  void usesConfiguredTimeout() {
+    ArmaAssertionsConfig.setWaitTimeout(Duration.ofSeconds(3));
+
+    assertThat(ElementsWait.waitTimeout(Collections.singletonList(element("a", true))))
+        .isEqualTo(Duration.ofSeconds(3));
+  }
+
+  @Test
+  void usesLongestOwnTimeout() {
+    IInteractiveElement first = element("a", true);
+    IInteractiveElement second = element("b", true);
+    ArmaAssertionsConfig.setProbe(new DefaultArmaProbe() {
+      @Override
+      public Optional<Duration> waitTimeout(IInteractiveElement element) {
+        return Optional.of(element == first ? Duration.ofSeconds(1) : Duration.ofSeconds(5));
+      }
+    });
+
+    assertThat(ElementsWait.waitTimeout(Arrays.asList(first, second)))
+        .isEqualTo(Duration.ofSeconds(5));
+  }
+
+  @Test
+  void hasNoTimeoutIfOwnTimeoutsAreUnknown() {
+    assertThat(ElementsWait.waitTimeout(Collections.singletonList(element("a", true)))).isNull();
+  }
+
+  @Test
+  void pollsUntilTimeout() {
+    IInteractiveElement shown = element("a", true);
+    IInteractiveElement hidden = element("b", false);
+
+    List<IInteractiveElement> rejected = ElementsWait.awaitDisplayed(
+        Arrays.asList(shown, hidden), Duration.ofMillis(50));
+
+    assertThat(rejected).containsExactly(hidden);
+    verify(shown, times(1)).isDisplayed(false);
+    verify(hidden, never()).isDisplayed(true);
+  }
+
+  @Test
+  void waitsForOneElementWithOwnWaitAndChecksTheRestOnce() {
+    IInteractiveElement first = element("a", false);
+    IInteractiveElement second = element("b", false);
+    IInteractiveElement third = element("c", false);
+
+    List<IInteractiveElement> rejected = ElementsWait.awaitDisplayed(
+        Arrays.asList(first, second, third), null);
+
+    assertThat(rejected).containsExactly(first, second, third);
+    verify(first, times(1)).isDisplayed(true);
+    verify(second, never()).isDisplayed(true);
+    verify(third, never()).isDisplayed(true);
+  }
+
+  @Test
+  void waitsForHiddenElements() {
+    IInteractiveElement shown = element("a", true);
+    IInteractiveElement hidden = element("b", false);
+
+    assertThat(ElementsWait.awaitNotDisplayed(Arrays.asList(shown, hidden), Duration.ZERO))
+        .containsExactly(shown);
+    assertThat(ElementsWait.displayed(Arrays.asList(shown, hidden))).containsExactly(shown);
+    assertThat(ElementsWait.notDisplayed(Arrays.asList(shown, hidden))).containsExactly(hidden);
+  }
+
+  private static IInteractiveElement element(String locatorsPath, boolean displayed) {
+    IInteractiveElement element = mock(IInteractiveElement.class);
+    when(element.getLocatorsPath()).thenReturn(locatorsPath);
+    when(element.isDisplayed(false)).thenReturn(displayed);
+    when(element.isDisplayed(true)).thenReturn(displayed);
+    return element;
+  }
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.mishaninss.arma.assertions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class FingerprintsTest {
+
+  @Test
+  void isLowercaseHexSha256() {
+    assertThat(Fingerprints.ofRows(Collections.emptyList()))
+        .isEqualTo("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855");
+    assertThat(Fingerprints.ofValues(values("login", "admin"))).matches("[0-9a-f]{64}");
+  }
+
+  @Test
+  void ignoresFieldOrderAndWhitespace() {
+    Map<String, String> first = new LinkedHashMap<>();
+    first.put("name", "John  Smith");
+    first.put("age", "42");
+    Map<String, String> second = new LinkedHashMap<>();
+    second.put("age", " 42 ");
+    second.put("name", "John Smith");
+
+    assertThat(Fingerprints.ofValues(first)).isEqualTo(Fingerprints.ofValues(second));
+  }
+
+  @Test
+  void dependsOnRowOrderAndValues() {
+    List<Map<String, String>> rows = Arrays.asList(values("id", "1"), values("id", "2"));
+    List<Map<String, String>> reversed = Arrays.asList(values("id", "2"), values("id", "1"));
+
+    assertThat(Fingerprints.ofRows(rows)).isNotEqualTo(Fingerprints.ofRows(reversed));
+    assertThat(Fingerprints.ofValues(values("id", "1")))
+        .isNotEqualTo(Fingerprints.ofValues(values("id", "2")));
+  }
+
+  @Test
+  void doesNotConfuseSeparatorsInValues() {
+    assertThat(Fingerprints.ofValues(values("a", "1\u001Fb=2")))
+        .isNotEqualTo(Fingerprints.ofRows(Collections.singletonList(twoFields())));
+  }
+
+  @Test
+  void treatsColumnsAsRows() {
+    Map<String, List<String>> columns = new LinkedHashMap<>();
+    columns.put("a", Arrays.asList("1", "3"));
+    columns.put("b", Arrays.asList("2", "4"));
+
+    assertThat(Fingerprints.ofColumns(columns)).isEqualTo(Fingerprints.ofRows(Arrays.asList(
+        twoFields(), values("a", "3", "b", "4"))));
+    assertThat(Fingerprints.ofColumn("a", Arrays.asList("1", "3"))).isEqualTo(
+        Fingerprints.ofRows(Arrays.asList(values("a", "1"), values("a", "3"))));
+  }
+
+  @Test
+  void keepsRowsOfContent() {
+    Fingerprint fingerprint = Fingerprint.ofColumn("a", Arrays.asList("1", "3"));
+
+    assertThat(fingerprint.getValue())
+        .isEqualTo(Fingerprints.ofColumn("a", Arrays.asList("1", "3")));
+    assertThat(fingerprint.getRows()).hasValueSatisfying(rows -> assertThat(rows).hasSize(2));
+    assertThat(Fingerprint.ofHash(fingerprint.getValue()).getRows()).isEmpty();
+  }
+
+  private static Map<String, String> twoFields() {
+    return values("a", "1", "b", "2");
+  }
+
+  private static Map<String, String> values(String... keysAndValues) {
+    Map<String, String> values = new LinkedHashMap<>();
+    for (int i = 0; i < keysAndValues.length; i += 2) {
+      values.put(keysAndValues[i], keysAndValues[i + 1]);
+    }
+    return values;
+  }
+
+}
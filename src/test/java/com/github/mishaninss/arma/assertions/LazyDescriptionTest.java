@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.mishaninss.arma.assertions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.assertj.core.api.WritableAssertionInfo;
+import org.junit.jupiter.api.Test;
+
+class LazyDescriptionTest {
+
+  @Test
+  void rendersOnceOnDemand() {
+    AtomicInteger calls = new AtomicInteger();
+    LazyDescription description = LazyDescription.of(() -> "form #" + calls.incrementAndGet());
+
+    assertThat(calls).hasValue(0);
+    assertThat(description.value()).isEqualTo("form #1");
+    assertThat(description.value()).isEqualTo("form #1");
+    assertThat(calls).hasValue(1);
+  }
+
+  @Test
+  void rendersNullAsEmpty() {
+    assertThat(LazyDescription.of(() -> null).value()).isEmpty();
+  }
+
+  @Test
+  void checksBlankInfoWithoutRendering() {
+    WritableAssertionInfo info = new WritableAssertionInfo();
+    assertThat(LazyDescription.isBlank(info)).isTrue();
+
+    info.description(LazyDescription.of(() -> {
+      throw new IllegalStateException("must not be rendered");
+    }));
+    assertThat(LazyDescription.isBlank(info)).isFalse();
+
+    info.description("login");
+    assertThat(LazyDescription.isBlank(info)).isFalse();
+  }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.mishaninss.arma.assertions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class RowsMatcherTest {
+
+  private static final Map<String, String> A = row("a", "1");
+  private static final Map<String, String> B = row("b", "2");
+  private static final Map<String, String> C = row("c", "3");
+
+  @Test
+  void reportsMissingAndUnexpectedRows() {
+    RowsMatcher matcher = RowsMatcher.match(Arrays.asList(A, C), Arrays.asList(A, B), false);
+
+    assertThat(matcher.getMissing()).containsExactly(B);
+    assertThat(matcher.getUnexpected()).containsExactly(C);
+  }
+
+  @Test
+  void ignoresDuplicatesByDefault() {
+    RowsMatcher matcher = RowsMatcher.match(Collections.singletonList(A), Arrays.asList(A, A),
+        false);
+
+    assertThat(matcher.getMissing()).isEmpty();
+    assertThat(matcher.getUnexpected()).isEmpty();
+  }
+
+  @Test
+  void countsDuplicatesOnRequest() {
+    RowsMatcher matcher = RowsMatcher.match(Arrays.asList(A, B, B), Arrays.asList(A, A, B),
+        true);
+
+    assertThat(matcher.getMissing()).containsExactly(A);
+    assertThat(matcher.getUnexpected()).containsExactly(B);
+  }
+
+  @Test
+  void findsFirstDifference() {
+    assertThat(RowsMatcher.firstDifference(Arrays.asList(A, B), Arrays.asList(A, B)))
+        .isEqualTo(-1);
+    assertThat(RowsMatcher.firstDifference(Arrays.asList(A, B), Arrays.asList(B, A)))
+        .isZero();
+    assertThat(RowsMatcher.firstDifference(Arrays.asList(A, B), Collections.singletonList(A)))
+        .isEqualTo(1);
+  }
+
+  @Test
+  void findsActualRowsAmongGivenOnes() {
+    assertThat(RowsMatcher.found(Arrays.asList(A, B, C), Arrays.asList(C, A)))
+        .containsExactly(A, C);
+  }
+
+  @Test
+  void matchesRowIgnoringCase() {
+    List<Map<String, String>> actual = Arrays.asList(row("name", "John"), B);
+
+    assertThat(RowsMatcher.containsRowIgnoreCase(actual, row("name", "JOHN"))).isTrue();
+    assertThat(RowsMatcher.containsRowIgnoreCase(actual, row("name", "Jane"))).isFalse();
+  }
+
+  private static Map<String, String> row(String key, String value) {
+    Map<String, String> row = new LinkedHashMap<>();
+    row.put(key, value);
+    return row;
+  }
+
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.mishaninss.arma.assertions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class SoftErrorCollectorTest {
+
+  @Test
+  void admitsErrorsUpToLimitAndCountsTheRest() {
+    SoftErrorCollector collector = new SoftErrorCollector(2, 100);
+
+    assertThat(collector.admit(new AssertionError("first"))).isNotNull();
+    assertThat(collector.admit(new AssertionError("second"))).isNotNull();
+    assertThat(collector.admit(new AssertionError("third"))).isNull();
+    assertThat(collector.count()).isEqualTo(3);
+    assertThat(collector.dropped()).isEqualTo(1);
+  }
+
+  @Test
+  void truncatesLongMessages() {
+    SoftErrorCollector collector = new SoftErrorCollector(10, 5);
+    AssertionError error = new AssertionError("0123456789");
+
+    AssertionError admitted = collector.admit(error);
+
+    assertThat(admitted.getMessage()).isEqualTo("01234... [5 more characters]");
+    assertThat(admitted.getStackTrace()).isEqualTo(error.getStackTrace());
+  }
+
+  @Test
+  void keepsShortMessages() {
+    AssertionError error = new AssertionError("short");
+
+    assertThat(new SoftErrorCollector(10, 5).admit(error)).isSameAs(error);
+  }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.mishaninss.arma.assertions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.github.mishaninss.arma.html.containers.table.Column;
+import com.github.mishaninss.arma.html.containers.table.Table;
+import com.github.mishaninss.arma.html.interfaces.IInteractiveElement;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TableSnapshotTest {
+
+  private Table table;
+  private Column<IInteractiveElement> name;
+  private Column<IInteractiveElement> price;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    table = mock(Table.class);
+    name = mock(Column.class);
+    price = mock(Column.class);
+    when(name.readValues()).thenReturn(Arrays.asList("Tea", "Coffee", "Tea"));
+    when(price.readValues()).thenReturn(Arrays.asList("10", "20", "30"));
+    when(table.findColumnByName("Name")).thenReturn((Column) name);
+    when(table.findColumnByName("Price")).thenReturn((Column) price);
+  }
+
+  @Test
+  void readsColumnsOnce() {
+    TableSnapshot snapshot = TableSnapshot.of(table, Arrays.asList("Name", "Price"));
+
+    assertThat(snapshot.getValues("Name")).containsExactly("Tea", "Coffee", "Tea");
+    assertThat(snapshot.getRowsCount()).isEqualTo(3);
+    assertThat(snapshot.findRow("Name", "Coffee")).isEqualTo(2);
+    verify(name, times(1)).readValues();
+    verify(price, times(1)).readValues();
+  }
+
+  @Test
+  void loadsMissingColumnsOnDemand() {
+    TableSnapshot snapshot = TableSnapshot.of(table, Collections.emptyList());
+
+    assertThat(snapshot.getRowsCount()).isEqualTo(-1);
+    assertThat(snapshot.findRow("Price", "30")).isEqualTo(3);
+    assertThat(snapshot.getRowsCount()).isEqualTo(3);
+    verify(name, never()).readValues();
+  }
+
+  @Test
+  void findsFirstRowWithAllValues() {
+    TableSnapshot snapshot = TableSnapshot.of(table, Arrays.asList("Name", "Price"));
+    Map<String, String> data = new LinkedHashMap<>();
+    data.put("Name", "Tea");
+    data.put("Price", "30");
+
+    assertThat(snapshot.findRowIndex(data)).isEqualTo(3);
+    verify(table, never()).findRowIndex(any());
+  }
+
+  @Test
+  void fallsBackToTableOnMiss() {
+    when(table.findRow("Name", "tea")).thenReturn(1);
+    when(table.findRowIndex(any())).thenReturn(-1);
+    TableSnapshot snapshot = TableSnapshot.of(table, Arrays.asList("Name", "Price"));
+    Map<String, String> data = new LinkedHashMap<>();
+    data.put("Name", "Coffee");
+    data.put("Price", "10");
+
+    assertThat(snapshot.findRow("Name", "tea")).isEqualTo(1);
+    assertThat(snapshot.findRowIndex(data)).isEqualTo(-1);
+    verify(table).findRowIndex(data);
+  }
+
+  @Test
+  void looksUpHeaderOnce() {
+    TableSnapshot snapshot = TableSnapshot.of(table, Collections.emptyList());
+
+    assertThat(snapshot.getColumn("Name")).isSameAs(name);
+    assertThat(snapshot.getColumn("Name")).isSameAs(name);
+    verify(table, times(1)).findColumnByName(anyString());
+  }
+
+}
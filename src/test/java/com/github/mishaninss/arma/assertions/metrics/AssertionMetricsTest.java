@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.mishaninss.arma.assertions.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AssertionMetricsTest {
+
+  private boolean enabled;
+
+  @BeforeEach
+  void setUp() {
+    enabled = AssertionMetrics.isEnabled();
+    AssertionMetrics.reset();
+  }
+
+  @AfterEach
+  void tearDown() {
+    AssertionMetrics.setEnabled(enabled);
+    AssertionMetrics.reset();
+  }
+
+  @Test
+  void measuresNothingWhenDisabled() {
+    AssertionMetrics.setEnabled(false);
+
+    assertThat(AssertionMetrics.enter()).isZero();
+    assertThat(AssertionMetrics.report()).isEmpty();
+  }
+
+  @Test
+  void accountsNestedMethodsToOutermostOne() {
+    AssertionMetrics.setEnabled(true);
+
+    assertThat(AssertionMetrics.enter()).isEqualTo(1);
+    AssertionMetrics.elementCall();
+    assertThat(AssertionMetrics.enter()).isEqualTo(2);
+    AssertionMetrics.elementCall();
+    AssertionMetrics.waited(TimeUnit.MILLISECONDS.toNanos(3));
+    AssertionMetrics.exit("inner", 100, true);
+    AssertionMetrics.failed();
+    AssertionMetrics.exit("outer", TimeUnit.MILLISECONDS.toNanos(5), true);
+
+    List<MethodStats> report = AssertionMetrics.report();
+    assertThat(report).extracting(MethodStats::getMethod).containsExactly("outer");
+    MethodStats stats = report.get(0);
+    assertThat(stats.getCalls()).isEqualTo(1);
+    assertThat(stats.getFailures()).isEqualTo(1);
+    assertThat(stats.getElementCalls()).isEqualTo(2);
+    assertThat(stats.getWaitMicros()).isEqualTo(3000);
+    assertThat(stats.getTotalMicros()).isEqualTo(5000);
+  }
+
+  @Test
+  void computesPercentilesFromHistogram() {
+    MethodStats stats = new MethodStats("containsValue");
+    for (int i = 0; i < 99; i++) {
+      stats.record(TimeUnit.MICROSECONDS.toNanos(10), 1, 0, true);
+    }
+    stats.record(TimeUnit.MILLISECONDS.toNanos(100), 1, 0, false);
+
+    assertThat(stats.getPercentileMicros(50)).isEqualTo(16);
+    assertThat(stats.getPercentileMicros(100)).isEqualTo(100_000);
+    assertThat(stats.getMaxMicros()).isEqualTo(100_000);
+    assertThat(stats.getFailures()).isEqualTo(1);
+  }
+
+  @Test
+  void writesCsvAndJson() {
+    MethodStats stats = new MethodStats("containsValue");
+    stats.record(TimeUnit.MICROSECONDS.toNanos(8), 2, 0, true);
+    List<MethodStats> report = Collections.singletonList(stats);
+
+    assertThat(AssertionMetrics.toCsv(report)).isEqualTo(
+        "method,calls,failures,totalMicros,p99Micros,maxMicros,elementCalls,waitMicros\n"
+            + "containsValue,1,0,8,8,8,2,0\n");
+    assertThat(AssertionMetrics.toJson(report)).isEqualTo("[\n  {\"method\": \"containsValue\", "
+        + "\"calls\": 1, \"failures\": 0, \"totalMicros\": 8, \"p99Micros\": 8, \"maxMicros\": 8, "
+        + "\"elementCalls\": 2, \"waitMicros\": 0}\n]\n");
+  }
+
+}
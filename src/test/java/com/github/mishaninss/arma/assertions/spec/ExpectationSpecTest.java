@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2021 Sergey Mishanin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.mishaninss.arma.assertions.spec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.github.mishaninss.arma.html.containers.table.Column;
+import com.github.mishaninss.arma.html.containers.table.Table;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ExpectationSpecTest {
+
+  private static final String YAML = "- element: login\n"
+      + "  displayed: true\n"
+      + "  value: John\n"
+      + "  attributes: {placeholder: Login}\n"
+      + "- element: error\n"
+      + "  displayed: false\n";
+
+  @Test
+  void parsesYaml() throws IOException {
+    ExpectationSpec spec = ExpectationSpec.parse("login.yml", YAML);
+
+    assertThat(spec.getSource()).isEqualTo("login.yml");
+    assertThat(spec.size()).isEqualTo(2);
+  }
+
+  @Test
+  void parsesJson() throws IOException {
+    ExpectationSpec spec = ExpectationSpec.parse("users.json",
+        "[{\"count\": 2}, {\"row\": {\"name\": \"John\"}}]");
+
+    assertThat(spec.size()).isEqualTo(2);
+  }
+
+  @Test
+  void choosesFormatByExtension(@TempDir Path directory) throws IOException {
+    Path file = Files.write(directory.resolve("login.YAML"),
+        YAML.getBytes(StandardCharsets.UTF_8));
+
+    ExpectationSpec spec = ExpectationSpec.load(file);
+
+    assertThat(spec.getSource()).isEqualTo("login.YAML");
+    assertThat(spec.size()).isEqualTo(2);
+  }
+
+  @Test
+  void reportsLineOfInvalidValue() {
+    assertThatThrownBy(() -> ExpectationSpec.parse("s.yml", "- count: 3\n- count: three\n"))
+        .isInstanceOf(IOException.class)
+        .hasMessage("s.yml:2: count must be an integer");
+    assertThatThrownBy(() -> ExpectationSpec.parse("s.yml", "- element: a\n  displayed: maybe\n"))
+        .hasMessage("s.yml:1: displayed must be true or false");
+    assertThatThrownBy(() -> ExpectationSpec.parse("s.json", "[{\"row\": \"John\"}]"))
+        .hasMessage("s.json:1: row must be an object");
+  }
+
+  @Test
+  void rejectsUnknownKeysAndInvalidStructure() {
+    assertThatThrownBy(() -> ExpectationSpec.parse("s.yml", "- element: a\n  visible: true\n"))
+        .hasMessage("s.yml:1: unknown key visible");
+    assertThatThrownBy(() -> ExpectationSpec.parse("s.yml", "element: a\n"))
+        .hasMessage("s.yml: a spec must be a list of expectations");
+    assertThatThrownBy(() -> ExpectationSpec.parse("s.yml", "- count: 1\n- login\n"))
+        .hasMessage("s.yml:2: an expectation must be an object");
+  }
+
+  @Test
+  void rejectsExpectationsNotSupportedByContainer() throws IOException {
+    ExpectationSpec spec = ExpectationSpec.parse("login.yml", YAML);
+
+    assertThatThrownBy(() -> spec.compile(mock(Table.class)))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("login.yml:1: only row and column can be checked for a table");
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void verifiesTableWithOneProbeCall() throws IOException {
+    Table table = mock(Table.class);
+    Column<?> name = mock(Column.class);
+    when(name.readValues()).thenReturn(Arrays.asList("John", "Jane"));
+    when(table.findColumnByName("Name")).thenReturn((Column) name);
+    when(table.findRow(any(), any())).thenReturn(-1);
+    when(table.findRowIndex(any())).thenReturn(-1);
+    ExpectationSpec spec = ExpectationSpec.parse("users.yml", "- column: Name\n"
+        + "  contains: Jane\n"
+        + "- row: {Name: John}\n"
+        + "- column: Name\n"
+        + "  contains: Jack\n");
+
+    VerificationPlan plan = spec.compile(table);
+
+    assertThat(plan.probeCalls()).isEqualTo(1);
+    assertThatThrownBy(plan::verify)
+        .isInstanceOf(AssertionError.class)
+        .hasMessageContaining("users.yml:4: Колонка Name не содержит записей со значением [Jack]")
+        .hasMessageNotContaining("users.yml:1")
+        .hasMessageNotContaining("users.yml:3");
+  }
+
+}